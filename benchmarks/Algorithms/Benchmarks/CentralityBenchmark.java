@@ -0,0 +1,122 @@
+package Algorithms.Benchmarks;
+
+import Algorithms.Centrality.BoundedEccentricityCentrality;
+import Algorithms.Centrality.DegreeCentrality;
+import Algorithms.Centrality.IncrementalDegreeCentrality;
+import Algorithms.Centrality.SampledBetweennessCentrality;
+import Algorithms.Graphs.CSRGraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.ObservableGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of centrality calculators whose cost is about linear in the size of a given graph.
+ * Each benchmark creates a new calculator, so that nothing is reused between operations.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CentralityBenchmark {
+
+    @Param({"grid", "ladder", "nws-4-0.01", "nws-10-0.1"})
+    public String family;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private Graph<Integer, Integer> graph;
+    private CSRGraph<Integer, Integer> snapshot;
+
+    @Setup
+    public void setUp() {
+        graph = GraphFamily.create(family, size);
+        snapshot = new CSRGraph<Integer, Integer>(graph);
+    }
+
+    @Benchmark
+    public Map<Integer, Double> degree() {
+        return new DegreeCentrality<Integer, Integer>(graph).getCentralMap();
+    }
+
+    @Benchmark
+    public Map<Integer, Double> degreeSnapshot() {
+        return new DegreeCentrality<Integer, Integer>(snapshot).getCentralMap();
+    }
+
+    /**
+     * Find the center by the eccentricity bounds
+     */
+    @Benchmark
+    public List<Integer> boundedEccentricityCenter() {
+        return new BoundedEccentricityCentrality<Integer, Integer>(snapshot).getCentralVertices();
+    }
+
+    /**
+     * Find the diameter by the eccentricity bounds
+     */
+    @Benchmark
+    public double boundedEccentricityDiameter() {
+        return new BoundedEccentricityCentrality<Integer, Integer>(snapshot).getDiameter();
+    }
+
+    /**
+     * Estimate the betweenness from 64 sources
+     */
+    @Benchmark
+    public Map<Integer, Double> sampledBetweenness() {
+        return new SampledBetweennessCentrality<Integer, Integer>(snapshot, 64, GraphFamily.SEED).getCentralMap();
+    }
+
+    /**
+     * The graph which is edited while the incremental degree centrality follows it
+     */
+    @State(Scope.Thread)
+    public static class Mutation {
+
+        private ObservableGraph<Integer, Integer> graph;
+        private IncrementalDegreeCentrality<Integer, Integer> centrality;
+        private SplittableRandom random;
+        private int size;
+        private int edge;
+
+        @Setup
+        public void setUp(CentralityBenchmark benchmark) {
+            graph = new ObservableGraph<Integer, Integer>(GraphFamily.create(benchmark.family, benchmark.size));
+            centrality = new IncrementalDegreeCentrality<Integer, Integer>(graph);
+            random = new SplittableRandom(GraphFamily.SEED);
+            size = graph.getVertexCount();
+            edge = graph.getEdgeCount();
+        }
+    }
+
+    /**
+     * Add and remove an edge between random vertices, and read the central vertices
+     */
+    @Benchmark
+    public List<Integer> incrementalDegree(Mutation mutation) {
+        Integer e = mutation.edge;
+        mutation.graph.addEdge(e, mutation.random.nextInt(mutation.size), mutation.random.nextInt(mutation.size));
+        mutation.graph.removeEdge(e);
+        return mutation.centrality.getCentralVertices();
+    }
+}
@@ -0,0 +1,143 @@
+package Algorithms.Benchmarks;
+
+import Algorithms.Centrality.BetweennessCentrality;
+import Algorithms.Centrality.DegreeCentrality;
+import Algorithms.Centrality.ClosenessCentrality;
+import Algorithms.Centrality.DistanceProfile;
+import Algorithms.Centrality.EccentricityCentrality;
+import Algorithms.Centrality.HarmonicCentrality;
+import Algorithms.Centrality.HyperBallProfile;
+import Algorithms.GraphGenerators.GraphStructure;
+import Algorithms.Graphs.CSRGraph;
+import edu.uci.ics.jung.graph.Graph;
+import org.apache.commons.collections15.Transformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the exact eccentricity centrality and other centralities from all-pairs shortest paths.
+ * Since they run BFS from every vertex in O(VE), sizes are smaller than the other benchmarks.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EccentricityBenchmark {
+
+    @Param({"grid", "ladder", "nws-4-0.01", "nws-10-0.1"})
+    public String family;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private Graph<Integer, Integer> graph;
+    private CSRGraph<Integer, Integer> snapshot;
+    private ForkJoinPool sequential;
+    private Transformer<Integer, Double> latencies;
+    private CSRGraph<Integer, Integer> generatedSnapshot;
+    private GraphStructure structure;
+
+    @Setup
+    public void setUp() {
+        graph = GraphFamily.create(family, size);
+        snapshot = new CSRGraph<Integer, Integer>(graph);
+        sequential = new ForkJoinPool(1);
+        generatedSnapshot = GraphFamily.createSnapshot(family, size);
+        structure = GraphFamily.structure(family, size);
+
+        // the weight of each edge is derived from its id, so that it is the same in every run
+        latencies = new Transformer<Integer, Double>() {
+            @Override
+            public Double transform(Integer edge) {
+                return 1.0 + (edge * 0x9E3779B9L & 0xFFFF) / 65536.0;
+            }
+        };
+    }
+
+    @Benchmark
+    public Map<Integer, Double> eccentricity() {
+        return new EccentricityCentrality<Integer, Integer>(graph).getCentralMap();
+    }
+
+    @Benchmark
+    public Map<Integer, Double> eccentricitySequential() {
+        return new EccentricityCentrality<Integer, Integer>(snapshot, sequential).getCentralMap();
+    }
+
+    /**
+     * Calculate weighted eccentricities by Dijkstra's algorithm from each vertex
+     */
+    @Benchmark
+    public Map<Integer, Double> weightedEccentricity() {
+        return new EccentricityCentrality<Integer, Integer>(snapshot, latencies, ForkJoinPool.commonPool()).getCentralMap();
+    }
+
+    /**
+     * Read eccentricities and degrees from the structure of the family in closed form.
+     * Families without a structure run BFS from each vertex as eccentricitySequential.
+     */
+    @Benchmark
+    public void structuredCentrality(Blackhole blackhole) {
+        if (structure == null) {
+            blackhole.consume(new EccentricityCentrality<Integer, Integer>(generatedSnapshot, sequential).getCentralMap());
+            blackhole.consume(new DegreeCentrality<Integer, Integer>(generatedSnapshot).getCentralMap());
+            return;
+        }
+        blackhole.consume(new EccentricityCentrality<Integer, Integer>(generatedSnapshot, structure).getCentralMap());
+        blackhole.consume(new DegreeCentrality<Integer, Integer>(generatedSnapshot, structure).getCentralMap());
+    }
+
+    /**
+     * Find the 10 most central vertices by depth-limited BFS
+     */
+    @Benchmark
+    public List<Integer> mostCentralVertices() {
+        return new EccentricityCentrality<Integer, Integer>(snapshot).getMostCentralVertices(10);
+    }
+
+    /**
+     * Calculate eccentricity, closeness and harmonic centrality from one distance profile
+     */
+    @Benchmark
+    public void distanceProfile(Blackhole blackhole) {
+        DistanceProfile<Integer, Integer> profile = new DistanceProfile<Integer, Integer>(snapshot);
+        blackhole.consume(new EccentricityCentrality<Integer, Integer>(profile).getCentralMap());
+        blackhole.consume(new ClosenessCentrality<Integer, Integer>(profile).getCentralMap());
+        blackhole.consume(new HarmonicCentrality<Integer, Integer>(profile).getCentralMap());
+    }
+
+    @Benchmark
+    public Map<Integer, Double> betweenness() {
+        return new BetweennessCentrality<Integer, Integer>(snapshot, ForkJoinPool.commonPool()).getCentralMap();
+    }
+
+    /**
+     * Estimate eccentricity, closeness and harmonic centrality from HyperLogLog counters with 256 registers
+     */
+    @Benchmark
+    public void hyperBallProfile(Blackhole blackhole) {
+        DistanceProfile<Integer, Integer> profile = new HyperBallProfile<Integer, Integer>(snapshot, 8, Integer.MAX_VALUE);
+        blackhole.consume(new EccentricityCentrality<Integer, Integer>(profile).getCentralMap());
+        blackhole.consume(new ClosenessCentrality<Integer, Integer>(profile).getCentralMap());
+        blackhole.consume(new HarmonicCentrality<Integer, Integer>(profile).getCentralMap());
+    }
+}
@@ -0,0 +1,89 @@
+package Algorithms.Benchmarks;
+
+import Algorithms.GraphGenerators.EdgeSink;
+import Algorithms.GraphGenerators.EdgeSource;
+import Algorithms.Graphs.BulkUndirectedSparseGraph;
+import Algorithms.Graphs.CSRGraph;
+import edu.uci.ics.jung.algorithms.generators.GraphGenerator;
+import edu.uci.ics.jung.graph.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of graph generators, which create a graph or only emit its edges.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GeneratorBenchmark {
+
+    @Param({"grid", "ladder", "nws-4-0.01", "nws-10-0.1"})
+    public String family;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private GraphGenerator<Integer, Integer> generator;
+    private GraphGenerator<Integer, Integer> bulkGenerator;
+
+    @Setup
+    public void setUp() {
+        generator = GraphFamily.generator(family, size);
+        bulkGenerator = GraphFamily.generator(family, size, BulkUndirectedSparseGraph.<Integer, Integer>getBulkFactory());
+    }
+
+    /**
+     * Create the graph through jung
+     */
+    @Benchmark
+    public Graph<Integer, Integer> create() {
+        return generator.create();
+    }
+
+    /**
+     * Create the graph through jung, loading all edges at once
+     */
+    @Benchmark
+    public Graph<Integer, Integer> createBulk() {
+        return bulkGenerator.create();
+    }
+
+    /**
+     * Create the snapshot of the graph without creating it through jung
+     */
+    @Benchmark
+    public CSRGraph<Integer, Integer> createSnapshot() {
+        return GraphFamily.createSnapshot(family, size);
+    }
+
+    /**
+     * Emit edges of the graph without creating it
+     */
+    @Benchmark
+    public void emit(final Blackhole blackhole) {
+        ((EdgeSource) generator).emit(new EdgeSink() {
+            @Override
+            public void add(int source, int target) {
+                blackhole.consume(source);
+                blackhole.consume(target);
+            }
+        });
+    }
+}
@@ -0,0 +1,132 @@
+package Algorithms.Benchmarks;
+
+import Algorithms.GraphGenerators.GraphStructure;
+import Algorithms.GraphGenerators.GridGraphGenerator;
+import Algorithms.GraphGenerators.LadderGraphGenerator;
+import Algorithms.GraphGenerators.NewmanWattsStrogatzGenerator;
+import Algorithms.Graphs.CSRGraph;
+import edu.uci.ics.jung.algorithms.generators.GraphGenerator;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseGraph;
+
+/**
+ * The families of graphs which benchmarks are parameterised over.
+ *
+ * A family is one of "grid", "ladder" and "nws-k-p", where k and p are the parameters of
+ * Newman-watts-strogatz small world graph, e.g. "nws-4-0.01".
+ * Vertices and edges are Integers numbered from 0, and graphs of the same family and size are always the same.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+final class GraphFamily {
+
+    static final long SEED = 42;
+
+    private GraphFamily() {
+    }
+
+    /**
+     * Return the generator of the family
+     * @param family the name of the family
+     * @param size the number of vertices
+     * @return the generator
+     */
+    static GraphGenerator<Integer, Integer> generator(String family, int size) {
+        return generator(family, size, graphFactory());
+    }
+
+    /**
+     * Return the generator of the family, which creates graphs by the factory
+     * @param family the name of the family
+     * @param size the number of vertices
+     * @param graphFactory the factory of empty graphs
+     * @return the generator
+     */
+    static GraphGenerator<Integer, Integer> generator(String family, int size,
+                                                      org.apache.commons.collections15.Factory<Graph<Integer, Integer>> graphFactory) {
+        if (family.equals("grid")) {
+            return new GridGraphGenerator<Integer, Integer>(graphFactory, counter(), counter(), size);
+        }
+        if (family.equals("ladder")) {
+            return new LadderGraphGenerator<Integer, Integer>(graphFactory, counter(), counter(), size);
+        }
+        if (family.startsWith("nws-")) {
+            String[] parameters = family.split("-");
+            int k = Integer.parseInt(parameters[1]);
+            double p = Double.parseDouble(parameters[2]);
+            return new NewmanWattsStrogatzGenerator<Integer, Integer>(graphFactory, counter(), counter(), size, k, p, SEED);
+        }
+        throw new IllegalArgumentException("unknown family: " + family);
+    }
+
+    /**
+     * Create a graph of the family
+     * @param family the name of the family
+     * @param size the number of vertices
+     * @return the graph
+     */
+    static Graph<Integer, Integer> create(String family, int size) {
+        return generator(family, size).create();
+    }
+
+    /**
+     * Create the snapshot of a graph of the family, without creating the graph through jung
+     * @param family the name of the family
+     * @param size the number of vertices
+     * @return the snapshot
+     */
+    static CSRGraph<Integer, Integer> createSnapshot(String family, int size) {
+        GraphGenerator<Integer, Integer> generator = generator(family, size);
+        if (generator instanceof GridGraphGenerator) {
+            return ((GridGraphGenerator<Integer, Integer>) generator).createSnapshot(null);
+        }
+        if (generator instanceof LadderGraphGenerator) {
+            return ((LadderGraphGenerator<Integer, Integer>) generator).createSnapshot(null);
+        }
+        return ((NewmanWattsStrogatzGenerator<Integer, Integer>) generator).createSnapshot(null);
+    }
+
+    /**
+     * Return the structure of a graph of the family, whose vertices are numbered as createSnapshot()
+     * @param family the name of the family
+     * @param size the number of vertices
+     * @return the structure, or null if the family has no closed form
+     */
+    static GraphStructure structure(String family, int size) {
+        GraphGenerator<Integer, Integer> generator = generator(family, size);
+        if (generator instanceof GridGraphGenerator) {
+            return ((GridGraphGenerator<Integer, Integer>) generator).getStructure();
+        }
+        if (generator instanceof LadderGraphGenerator) {
+            return ((LadderGraphGenerator<Integer, Integer>) generator).getStructure();
+        }
+        return null;
+    }
+
+    /**
+     * Return the factory of undirected graphs
+     * @return the factory of undirected graphs
+     */
+    static org.apache.commons.collections15.Factory<Graph<Integer, Integer>> graphFactory() {
+        return new org.apache.commons.collections15.Factory<Graph<Integer, Integer>>() {
+            @Override
+            public Graph<Integer, Integer> create() {
+                return new UndirectedSparseGraph<Integer, Integer>();
+            }
+        };
+    }
+
+    /**
+     * Return the factory of Integers numbered from 0
+     */
+    private static org.apache.commons.collections15.Factory<Integer> counter() {
+        return new org.apache.commons.collections15.Factory<Integer>() {
+            private int count;
+
+            @Override
+            public Integer create() {
+                return count++;
+            }
+        };
+    }
+}
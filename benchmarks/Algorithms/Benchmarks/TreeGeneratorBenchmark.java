@@ -0,0 +1,144 @@
+package Algorithms.Benchmarks;
+
+import Algorithms.Graphs.CSRGraph;
+import Algorithms.TreeGenerators.BFSTreeGenerator;
+import Algorithms.TreeGenerators.DFSOrder;
+import Algorithms.TreeGenerators.DFSTreeGenerator;
+import Algorithms.TreeGenerators.ParallelBFSTreeGenerator;
+import Algorithms.TreeGenerators.TreeView;
+import edu.uci.ics.jung.graph.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of tree generators, which walk a given graph or its snapshot.
+ * The time per operation should grow linearly with the size, since every generator is O(V+E).
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TreeGeneratorBenchmark {
+
+    // the number of roots spread evenly over the vertices in multi-root benchmarks
+    private static final int ROOTS = 16;
+
+    @Param({"grid", "ladder", "nws-4-0.01", "nws-10-0.1"})
+    public String family;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private Graph<Integer, Integer> graph;
+    private CSRGraph<Integer, Integer> snapshot;
+    private List<Integer> roots;
+
+    @Setup
+    public void setUp() {
+        graph = GraphFamily.create(family, size);
+        snapshot = new CSRGraph<Integer, Integer>(graph);
+        roots = new ArrayList<Integer>();
+        for (int i = 0; i < ROOTS; i++) {
+            roots.add(snapshot.vertexAt((int) ((long) snapshot.numVertices() * i / ROOTS)));
+        }
+    }
+
+    /**
+     * Take a snapshot of the graph
+     */
+    @Benchmark
+    public CSRGraph<Integer, Integer> snapshot() {
+        return new CSRGraph<Integer, Integer>(graph);
+    }
+
+    @Benchmark
+    public Graph<Integer, Integer> bfs() {
+        return new BFSTreeGenerator<Integer, Integer>(graph, GraphFamily.graphFactory(), 0).create();
+    }
+
+    @Benchmark
+    public Graph<Integer, Integer> bfsSnapshot() {
+        return new BFSTreeGenerator<Integer, Integer>(snapshot, GraphFamily.graphFactory(), 0).create();
+    }
+
+    @Benchmark
+    public Graph<Integer, Integer> parallelBfs() {
+        return new ParallelBFSTreeGenerator<Integer, Integer>(snapshot, GraphFamily.graphFactory(), 0).create();
+    }
+
+    /**
+     * Walk the snapshot in BFS order into parent and depth arrays without creating the tree
+     */
+    @Benchmark
+    public TreeView<Integer, Integer> bfsView() {
+        return new BFSTreeGenerator<Integer, Integer>(snapshot, GraphFamily.graphFactory(), 0).view();
+    }
+
+    /**
+     * Expand frontiers in parallel into parent and depth arrays without creating the tree
+     */
+    @Benchmark
+    public TreeView<Integer, Integer> parallelBfsView() {
+        return new ParallelBFSTreeGenerator<Integer, Integer>(snapshot, GraphFamily.graphFactory(), 0).view();
+    }
+
+    /**
+     * Create the spanning forest of the snapshot
+     */
+    @Benchmark
+    public Graph<Integer, Integer> bfsForestSnapshot() {
+        return new BFSTreeGenerator<Integer, Integer>(snapshot, GraphFamily.graphFactory()).create();
+    }
+
+    /**
+     * Assign each vertex to its nearest root without creating the forest
+     */
+    @Benchmark
+    public Map<Integer, Integer> bfsPartition() {
+        return new BFSTreeGenerator<Integer, Integer>(snapshot, GraphFamily.graphFactory(), roots).partition();
+    }
+
+    @Benchmark
+    public Graph<Integer, Integer> dfs() {
+        return new DFSTreeGenerator<Integer, Integer>(graph, GraphFamily.graphFactory(), 0).create();
+    }
+
+    @Benchmark
+    public Graph<Integer, Integer> dfsSnapshot() {
+        return new DFSTreeGenerator<Integer, Integer>(snapshot, GraphFamily.graphFactory(), 0).create();
+    }
+
+    /**
+     * Walk the snapshot in DFS order into parent and depth arrays without creating the tree
+     */
+    @Benchmark
+    public TreeView<Integer, Integer> dfsView() {
+        return new DFSTreeGenerator<Integer, Integer>(snapshot, GraphFamily.graphFactory(), 0).view();
+    }
+
+    /**
+     * Walk the snapshot in DFS order without creating the tree
+     */
+    @Benchmark
+    public DFSOrder<Integer, Integer> dfsOrder() {
+        return new DFSTreeGenerator<Integer, Integer>(snapshot, GraphFamily.graphFactory(), 0).order();
+    }
+}
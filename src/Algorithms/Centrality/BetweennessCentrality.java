@@ -0,0 +1,132 @@
+package Algorithms.Centrality;
+
+import Algorithms.Graphs.CSRGraph;
+import Algorithms.Graphs.IndexedGraph;
+import edu.uci.ics.jung.graph.Graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Calculator of the betweenness centrality.
+ *
+ * The betweenness centrality C(V) is defined as the sum of the fraction of shortest paths between S and T
+ * which pass through V, over all pairs of other vertices S and T. Therefore, it can be formulated as follows:
+ * C(V) = sum(sigma(S, T | V) / sigma(S, T))
+ * where sigma(S, T) is the number of shortest paths between S and T,
+ * and sigma(S, T | V) is the number of them passing through V.
+ *
+ * Bigger the betweenness centrality it has, more central vertex it is.
+ * For undirected graphs, each pair is counted once, which is the same as jung's BetweennessCentrality.
+ *
+ *
+ * Notes
+ *
+ * All properties are calculated on the first access, and all methods return cached properties as default.
+ * Therefore, if graph is edited after the first access, call reset() in order to update properties.
+ * Or you can specify whether results are cached or not when creating an instance.
+ * If not cached, properties are calculated again only when an ObservableGraph is edited (see CachedCentrality).
+ *
+ * The calculation runs Brandes' algorithm from every vertex in O(VE), and sources can be split across threads
+ * by giving a ForkJoinPool when creating an instance.
+ * For big graphs, SampledBetweennessCentrality estimates the betweenness from a part of the sources.
+ *
+ *
+ * References
+ *
+ * U. Brandes,
+ * A Faster Algorithm for Betweenness Centrality,
+ * Journal of Mathematical Sociology, 25(2), 163-177, 2001.
+ * http://dx.doi.org/10.1080/0022250X.2001.9990249
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class BetweennessCentrality<V,E> extends CachedCentrality<V,E> {
+
+    private Graph<V,E> graph;
+    private IndexedGraph<V,E> snapshot;
+    private ForkJoinPool pool;
+
+    /**
+     * Create a new instance with a given graph.
+     * @param graph a given graph
+     */
+    public BetweennessCentrality(Graph<V,E> graph) {
+        super(graph, true);
+        this.graph = graph;
+    }
+
+    /**
+     * Create a new instance with a given graph, which calculates the betweenness in parallel.
+     * @param graph a given graph
+     * @param pool the pool to run the calculation. the calculation runs sequentially if null.
+     */
+    public BetweennessCentrality(Graph<V,E> graph, ForkJoinPool pool) {
+        super(graph, true);
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Create a new instance with a given graph.
+     * @param graph a given graph
+     * @param cached specifies whether the result is cached or not
+     */
+    public BetweennessCentrality(Graph<V,E> graph, boolean cached) {
+        super(graph, cached);
+        this.graph = graph;
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given graph.
+     * @param snapshot a snapshot of a given graph
+     */
+    public BetweennessCentrality(IndexedGraph<V,E> snapshot) {
+        super(null, true);
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given graph, which calculates the betweenness in parallel.
+     * @param snapshot a snapshot of a given graph
+     * @param pool the pool to run the calculation. the calculation runs sequentially if null.
+     */
+    public BetweennessCentrality(IndexedGraph<V,E> snapshot, ForkJoinPool pool) {
+        super(null, true);
+        this.snapshot = snapshot;
+        this.pool = pool;
+    }
+
+    /**
+     * Calculate and store central vertices and the map
+     */
+    @Override
+    protected void calculate() {
+        IndexedGraph<V,E> snapshot = graph != null ? new CSRGraph<V,E>(graph) : this.snapshot;
+        int n = snapshot.numVertices();
+        int[] sources = new int[n];
+        for (int i = 0; i < n; i++) {
+            sources[i] = i;
+        }
+        double[] betweenness = Brandes.accumulate(snapshot, sources, pool);
+
+        // each pair of an undirected graph is counted from both ends
+        double scale = snapshot.isUndirected() ? 0.5 : 1;
+        double maximum = 0;
+        for (int i = 0; i < n; i++) {
+            betweenness[i] *= scale;
+            maximum = Math.max(maximum, betweenness[i]);
+        }
+
+        // create the Map which maps each vertex in the graph to its betweenness, and store central vertices
+        map = new HashMap<V, Double>(n * 2);
+        centralVertices = new ArrayList<V>();
+        for (int i = 0; i < n; i++) {
+            map.put(snapshot.vertexAt(i), betweenness[i]);
+            if (betweenness[i] == maximum) {
+                centralVertices.add(snapshot.vertexAt(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package Algorithms.Centrality;
+
+import Algorithms.Graphs.CSRGraph;
+import Algorithms.Graphs.IndexedGraph;
+import Algorithms.Graphs.GraphVersion;
+import edu.uci.ics.jung.graph.Graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calculator of the eccentricity centrality, which keeps lower and upper bounds of eccentricities.
+ *
+ * The eccentricity centrality is the same as EccentricityCentrality.
+ * However, after each BFS from a vertex V with eccentricity e, the bounds of every vertex W are narrowed by
+ * max(d(V, W), e - d(V, W)) <= C(W) <= e + d(V, W)
+ * and vertices whose bounds already decide the answer are not searched any more.
+ * Therefore, the radius, the center and the diameter are usually obtained by a few dozen BFS runs
+ * instead of one BFS for each vertex.
+ *
+ *
+ * Notes
+ *
+ * Nothing is calculated when creating a new instance. Each method searches only as much as it needs,
+ * and the bounds are kept between calls, so getCentralMap() calculates all eccentricities only when it is called.
+ * If graph is edited after creating a instance, call reset() in order to discard the bounds.
+ * If a given graph is an ObservableGraph, the bounds are discarded automatically when it is edited.
+ *
+ * The bounds hold only for undirected graphs. For graphs with directed edges, all eccentricities are calculated.
+ *
+ *
+ * References
+ *
+ * F. W. Takes and W. A. Kosters,
+ * Computing the Eccentricity Distribution of Large Graphs,
+ * Algorithms, 6(1), 100-118, 2013.
+ * http://dx.doi.org/10.3390/a6010100
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class BoundedEccentricityCentrality<V,E> implements Centrality<V> {
+
+    private Graph<V,E> graph;
+    private GraphVersion<V,E> version;
+    private long preparedVersion;
+    private IndexedGraph<V,E> snapshot;
+    private List<V> vertices;
+    private int[] lower;
+    private int[] upper;
+    private int[] distance;
+    private int[] queue;
+    private boolean connected;
+    private int numSearches;
+    private List<V> centralVertices;
+    private Map<V, Double> map;
+
+    /**
+     * Create a new instance with a given graph.
+     * @param graph a given graph
+     */
+    public BoundedEccentricityCentrality(Graph<V,E> graph) {
+        this.graph = graph;
+        this.version = new GraphVersion<V,E>(graph);
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given graph.
+     * @param snapshot a snapshot of a given graph
+     */
+    public BoundedEccentricityCentrality(IndexedGraph<V,E> snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Return the centrality of target vertex
+     * @param target target vertex
+     * @return the centrality of the target
+     * @throws IllegalArgumentException if the target is not in the graph
+     */
+    @Override
+    public double getCentrality(V target) {
+        prepare();
+        int v = snapshot.indexOf(target);
+        if (v < 0) {
+            throw new IllegalArgumentException("vertex is not in the graph: " + target);
+        }
+        if (!connected) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (lower[v] != upper[v]) {
+            search(v);
+        }
+        return lower[v];
+    }
+
+    /**
+     * Return the list of central vertices, vertices whose eccentricity is minimum in a given graph
+     * @return the list of central vertices
+     */
+    @Override
+    public List<V> getCentralVertices() {
+        prepare();
+        if (centralVertices != null) {
+            return centralVertices;
+        }
+
+        // every vertex is central if a given graph is not connected
+        centralVertices = new ArrayList<V>();
+        if (!connected) {
+            centralVertices.addAll(vertices);
+            return centralVertices;
+        }
+
+        // search until every vertex is decided or cannot be central.
+        // vertices which are likely central and likely peripheral are searched in turn,
+        // since the former lowers the radius and the latter raises lower bounds of the others.
+        int radius = radiusBound();
+        boolean peripheral = false;
+        int next;
+        while ((next = selectForRadius(radius, peripheral)) >= 0) {
+            search(next);
+            radius = radiusBound();
+            peripheral = !peripheral;
+        }
+
+        for (int i = 0; i < vertices.size(); i++) {
+            if (lower[i] == radius && upper[i] == radius) {
+                centralVertices.add(vertices.get(i));
+            }
+        }
+        return centralVertices;
+    }
+
+    /**
+     * Return the Map which maps each vertex in the graph to its eccentricity
+     * @return the Map which maps each vertex in the graph to its eccentricity
+     */
+    @Override
+    public Map<V, Double> getCentralMap() {
+        prepare();
+        if (map != null) {
+            return map;
+        }
+
+        map = new HashMap<V, Double>(vertices.size() * 2);
+        for (int i = 0; i < vertices.size(); i++) {
+            if (connected && lower[i] != upper[i]) {
+                search(i);
+            }
+            map.put(vertices.get(i), connected ? (double) lower[i] : Double.POSITIVE_INFINITY);
+        }
+        return map;
+    }
+
+    /**
+     * Return false, since smaller eccentricity means more central vertex
+     * @return false
+     */
+    @Override
+    public boolean isBiggerMoreCentral() {
+        return false;
+    }
+
+    /**
+     * Return the radius, the minimum eccentricity in a given graph
+     * @return the radius. return infinity if a given graph is not connected.
+     */
+    public double getRadius() {
+        List<V> center = getCentralVertices();
+        if (!connected || center.isEmpty()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return lower[snapshot.indexOf(center.get(0))];
+    }
+
+    /**
+     * Return the diameter, the maximum eccentricity in a given graph
+     * @return the diameter. return infinity if a given graph is not connected.
+     */
+    public double getDiameter() {
+        prepare();
+        if (!connected) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        // search until no vertex can have bigger eccentricity than the known one
+        int diameter = diameterBound();
+        int next;
+        while ((next = selectForDiameter(diameter)) >= 0) {
+            search(next);
+            diameter = diameterBound();
+        }
+        return diameter;
+    }
+
+    /**
+     * Return the number of BFS runs since the instance was created or reset
+     * @return the number of BFS runs
+     */
+    public int getNumSearches() {
+        return numSearches;
+    }
+
+    /**
+     * Reset all bounds and caches
+     */
+    public void reset() {
+        if (graph != null) {
+            snapshot = null;
+        }
+        vertices = null;
+        lower = null;
+        upper = null;
+        distance = null;
+        queue = null;
+        numSearches = 0;
+        centralVertices = null;
+        map = null;
+    }
+
+    /**
+     * Take a snapshot of a given graph, and initialize bounds with the first BFS
+     */
+    private void prepare() {
+        if (vertices != null && version != null && version.isTracked() && version.get() != preparedVersion) {
+            reset();
+        }
+        if (vertices != null) {
+            return;
+        }
+        if (version != null) {
+            preparedVersion = version.get();
+        }
+        if (snapshot == null) {
+            snapshot = new CSRGraph<V,E>(graph);
+        }
+        vertices = snapshot.getVertices();
+        int n = vertices.size();
+        lower = new int[n];
+        upper = new int[n];
+        distance = new int[n];
+        queue = new int[n];
+        for (int i = 0; i < n; i++) {
+            upper[i] = Integer.MAX_VALUE;
+        }
+
+        // bounds do not hold for directed edges, so every vertex has to be searched
+        if (!snapshot.isUndirected()) {
+            connected = true;
+            for (int i = 0; i < n; i++) {
+                if (BreadthFirstSearch.run(snapshot, i, distance, queue) < n) {
+                    connected = false;
+                    return;
+                }
+                lower[i] = upper[i] = distance[queue[n - 1]];
+            }
+            numSearches = n;
+            return;
+        }
+
+        // an undirected graph is connected if the first BFS reaches every vertex
+        connected = n == 0 || search(maxDegreeVertex()) >= 0;
+    }
+
+    /**
+     * Run BFS from the vertex and narrow the bounds of all vertices
+     * @param v the index of the vertex
+     * @return the eccentricity of the vertex, or -1 if some vertex is unreachable
+     */
+    private int search(int v) {
+        int n = vertices.size();
+        numSearches++;
+        int reached = BreadthFirstSearch.run(snapshot, v, distance, queue);
+        if (reached < n) {
+            return -1;
+        }
+        int eccentricity = distance[queue[n - 1]];
+        for (int w = 0; w < n; w++) {
+            int d = distance[w];
+            lower[w] = Math.max(lower[w], Math.max(d, eccentricity - d));
+            upper[w] = Math.min(upper[w], eccentricity + d);
+        }
+        return eccentricity;
+    }
+
+    /**
+     * Select the next vertex to search for the radius.
+     * Vertices whose lower bound is bigger than the radius cannot be central, and are never selected.
+     * Among others, the vertex with the smallest lower bound is selected, and ties are broken by the degree.
+     * If peripheral is true, the vertex with the biggest upper bound is selected instead.
+     * @param radius the known upper bound of the radius
+     * @param peripheral specifies whether a likely peripheral vertex is selected
+     * @return the index of the next vertex, or -1 if every candidate is decided
+     */
+    private int selectForRadius(int radius, boolean peripheral) {
+        int selected = -1;
+        for (int i = 0; i < vertices.size(); i++) {
+            if (lower[i] == upper[i] || lower[i] > radius) {
+                continue;
+            }
+            if (selected < 0) {
+                selected = i;
+            } else if (peripheral) {
+                if (upper[i] > upper[selected]) {
+                    selected = i;
+                }
+            } else if (lower[i] < lower[selected]
+                    || (lower[i] == lower[selected] && snapshot.outDegree(i) > snapshot.outDegree(selected))) {
+                selected = i;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Select the next vertex to search for the diameter.
+     * Vertices whose upper bound is not bigger than the diameter cannot change it, and are never selected.
+     * Among others, the vertex with the biggest upper bound is selected, and ties are broken by the smaller degree.
+     * @param diameter the known lower bound of the diameter
+     * @return the index of the next vertex, or -1 if every candidate is decided
+     */
+    private int selectForDiameter(int diameter) {
+        int selected = -1;
+        for (int i = 0; i < vertices.size(); i++) {
+            if (lower[i] == upper[i] || upper[i] <= diameter) {
+                continue;
+            }
+            if (selected < 0 || upper[i] > upper[selected]
+                    || (upper[i] == upper[selected] && snapshot.outDegree(i) < snapshot.outDegree(selected))) {
+                selected = i;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Return the smallest eccentricity among decided vertices
+     */
+    private int radiusBound() {
+        int radius = Integer.MAX_VALUE;
+        for (int i = 0; i < vertices.size(); i++) {
+            if (lower[i] == upper[i]) {
+                radius = Math.min(radius, lower[i]);
+            }
+        }
+        return radius;
+    }
+
+    /**
+     * Return the biggest lower bound, which is also a lower bound of the diameter
+     */
+    private int diameterBound() {
+        int diameter = 0;
+        for (int i = 0; i < vertices.size(); i++) {
+            diameter = Math.max(diameter, lower[i]);
+        }
+        return diameter;
+    }
+
+    /**
+     * Return the vertex whose degree is maximum, which is a good first guess of a central vertex
+     */
+    private int maxDegreeVertex() {
+        int selected = 0;
+        for (int i = 1; i < vertices.size(); i++) {
+            if (snapshot.outDegree(i) > snapshot.outDegree(selected)) {
+                selected = i;
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,151 @@
+package Algorithms.Centrality;
+
+import Algorithms.Graphs.IndexedGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Brandes' accumulation of pair dependencies over the snapshot of a graph.
+ *
+ * For each source S, one BFS counts the shortest paths sigma(S, V) to every vertex V, and then the dependency
+ * delta(S, V) = sum(sigma(S, V) / sigma(S, W) * (1 + delta(S, W))) over successors W of V on shortest paths
+ * is accumulated in the reverse order of the BFS. The betweenness of V is the sum of delta(S, V) over all sources.
+ *
+ * Sources are split across threads. Each leaf task has its own accumulator and buffers,
+ * and accumulators are summed while joining tasks, so that no lock or atomic update is needed.
+ *
+ *
+ * References
+ *
+ * U. Brandes,
+ * A Faster Algorithm for Betweenness Centrality,
+ * Journal of Mathematical Sociology, 25(2), 163-177, 2001.
+ * http://dx.doi.org/10.1080/0022250X.2001.9990249
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+final class Brandes {
+
+    private Brandes() {
+    }
+
+    /**
+     * Sum dependencies of all vertices over the sources
+     * @param snapshot the snapshot of a given graph
+     * @param sources the indices of source vertices
+     * @param pool the pool to run the calculation. the calculation runs sequentially if null.
+     * @return the sum of dependencies of each vertex
+     */
+    static double[] accumulate(IndexedGraph<?,?> snapshot, int[] sources, ForkJoinPool pool) {
+        if (pool == null) {
+            return new DependencyTask(snapshot, sources, 0, sources.length, sources.length).compute();
+        }
+        int threshold = Math.max(1, sources.length / (pool.getParallelism() * 4));
+        return pool.invoke(new DependencyTask(snapshot, sources, 0, sources.length, threshold));
+    }
+
+    /**
+     * The task which sums dependencies over sources in a range
+     */
+    private static class DependencyTask extends RecursiveTask<double[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IndexedGraph<?,?> snapshot;
+        private final int[] sources;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        DependencyTask(IndexedGraph<?,?> snapshot, int[] sources, int from, int to, int threshold) {
+            this.snapshot = snapshot;
+            this.sources = sources;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected double[] compute() {
+            // split the range until it becomes small enough, and sum the accumulators of both halves
+            if (to - from > threshold) {
+                int middle = (from + to) >>> 1;
+                DependencyTask left = new DependencyTask(snapshot, sources, from, middle, threshold);
+                DependencyTask right = new DependencyTask(snapshot, sources, middle, to, threshold);
+                left.fork();
+                double[] sum = right.compute();
+                double[] other = left.join();
+                for (int v = 0; v < sum.length; v++) {
+                    sum[v] += other[v];
+                }
+                return sum;
+            }
+
+            int n = snapshot.numVertices();
+            double[] betweenness = new double[n];
+            int[] distance = new int[n];
+            int[] queue = new int[n];
+            double[] sigma = new double[n];
+            double[] delta = new double[n];
+            Arrays.fill(distance, -1);
+            for (int i = from; i < to; i++) {
+                accumulate(sources[i], betweenness, distance, queue, sigma, delta);
+            }
+            return betweenness;
+        }
+
+        /**
+         * Add dependencies on the source to the accumulator.
+         * Buffers are restored to their initial values for the reached vertices only.
+         */
+        private void accumulate(int source, double[] betweenness, int[] distance, int[] queue,
+                                double[] sigma, double[] delta) {
+            // count shortest paths by BFS
+            distance[source] = 0;
+            sigma[source] = 1;
+            queue[0] = source;
+            int head = 0;
+            int tail = 1;
+            while (head < tail) {
+                int u = queue[head++];
+                int next = distance[u] + 1;
+                for (int arc = snapshot.begin(u), end = snapshot.end(u); arc < end; arc++) {
+                    int v = snapshot.target(arc);
+                    if (distance[v] < 0) {
+                        distance[v] = next;
+                        queue[tail++] = v;
+                    }
+                    if (distance[v] == next) {
+                        sigma[v] += sigma[u];
+                    }
+                }
+            }
+
+            // accumulate dependencies from the farthest vertices, looking at successors on shortest paths
+            for (int i = tail - 1; i >= 0; i--) {
+                int v = queue[i];
+                int next = distance[v] + 1;
+                double dependency = 0;
+                for (int arc = snapshot.begin(v), end = snapshot.end(v); arc < end; arc++) {
+                    int w = snapshot.target(arc);
+                    if (distance[w] == next) {
+                        dependency += (1 + delta[w]) / sigma[w];
+                    }
+                }
+                delta[v] = sigma[v] * dependency;
+                if (v != source) {
+                    betweenness[v] += delta[v];
+                }
+            }
+
+            for (int i = 0; i < tail; i++) {
+                int v = queue[i];
+                distance[v] = -1;
+                sigma[v] = 0;
+                delta[v] = 0;
+            }
+        }
+    }
+}
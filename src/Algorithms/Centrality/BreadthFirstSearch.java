@@ -0,0 +1,63 @@
+package Algorithms.Centrality;
+
+import Algorithms.Graphs.IndexedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Unweighted single-source shortest path over the snapshot of a graph.
+ *
+ * Buffers are given by callers, so that they can be reused across sources.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+final class BreadthFirstSearch {
+
+    private BreadthFirstSearch() {
+    }
+
+    /**
+     * Run BFS from the source
+     * @param snapshot the snapshot of a given graph
+     * @param source the index of the source vertex
+     * @param distance the buffer for distances. unreachable vertices are set to -1.
+     * @param queue the buffer for the queue. reached vertices are stored in order of their distance.
+     * @return the number of reached vertices
+     */
+    static int run(IndexedGraph<?,?> snapshot, int source, int[] distance, int[] queue) {
+        return run(snapshot, source, distance, queue, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Run BFS from the source, which stops at the given depth
+     * @param snapshot the snapshot of a given graph
+     * @param source the index of the source vertex
+     * @param distance the buffer for distances. unreached vertices are set to -1.
+     * @param queue the buffer for the queue. reached vertices are stored in order of their distance.
+     * @param maxDepth the maximum distance to search. vertices farther than it are not reached.
+     * @return the number of reached vertices
+     */
+    static int run(IndexedGraph<?,?> snapshot, int source, int[] distance, int[] queue, int maxDepth) {
+        Arrays.fill(distance, -1);
+        distance[source] = 0;
+        queue[0] = source;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int u = queue[head++];
+            if (distance[u] >= maxDepth) {
+                // the remaining vertices in the queue are all at the maximum depth
+                break;
+            }
+            int next = distance[u] + 1;
+            for (int arc = snapshot.begin(u), end = snapshot.end(u); arc < end; arc++) {
+                int v = snapshot.target(arc);
+                if (distance[v] < 0) {
+                    distance[v] = next;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return tail;
+    }
+}
@@ -0,0 +1,53 @@
+package Algorithms.Centrality;
+
+/**
+ * Statistics of the cache of a centrality calculator.
+ *
+ * A hit is an access answered by the cached result, and a miss is an access which needed a calculation.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class CacheStats {
+
+    private long hits;
+    private long misses;
+    private long recomputeNanos;
+
+    /**
+     * Return the number of accesses answered by the cached result
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Return the number of accesses which needed a calculation
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Return the total time spent by calculations
+     * @return the total time in nanoseconds
+     */
+    public long getRecomputeNanos() {
+        return recomputeNanos;
+    }
+
+    void hit() {
+        hits++;
+    }
+
+    void miss(long nanos) {
+        misses++;
+        recomputeNanos += nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hits + ", misses=" + misses + ", recomputeNanos=" + recomputeNanos + "}";
+    }
+}
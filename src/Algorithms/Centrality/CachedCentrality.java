@@ -0,0 +1,132 @@
+package Algorithms.Centrality;
+
+import Algorithms.Graphs.GraphVersion;
+import Algorithms.Metrics.Metrics;
+import edu.uci.ics.jung.graph.Graph;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The base of centrality calculators which cache the central vertices and the map.
+ *
+ * Nothing is calculated when creating a new instance. The result is calculated on the first access,
+ * and it is stored together with the version of a given graph.
+ *
+ * If results are cached, the stored result is returned until reset() is called.
+ * Otherwise, the stored result is returned only while a given graph is not edited. Edits are detected
+ * if a given graph is an ObservableGraph; for other graphs, each access calculates the result again.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public abstract class CachedCentrality<V,E> implements Centrality<V> {
+
+    protected List<V> centralVertices;
+    protected Map<V, Double> map;
+    private boolean cached;
+    private GraphVersion<V,E> version;
+    private long calculatedVersion;
+    private CacheStats stats = new CacheStats();
+
+    /**
+     * Create a new instance
+     * @param graph a given graph, or null if the result never changes
+     * @param cached specifies whether the result is cached or not
+     */
+    protected CachedCentrality(Graph<V,E> graph, boolean cached) {
+        this.cached = cached;
+        if (graph != null && !cached) {
+            this.version = new GraphVersion<V,E>(graph);
+        }
+    }
+
+    /**
+     * Calculate and store central vertices and the map
+     */
+    protected abstract void calculate();
+
+    /**
+     * Return the centrality of target vertex
+     * @param target target vertex
+     * @return the centrality of the target
+     */
+    @Override
+    public double getCentrality(V target) {
+        update();
+        return map.get(target);
+    }
+
+    /**
+     * Return the list of central vertices
+     * @return the list of central vertices
+     */
+    @Override
+    public List<V> getCentralVertices() {
+        update();
+        return centralVertices;
+    }
+
+    /**
+     * Return the Map which maps each vertex in the graph to its centrality
+     * @return the Map which maps each vertex in the graph to its centrality
+     */
+    @Override
+    public Map<V, Double> getCentralMap() {
+        update();
+        return map;
+    }
+
+    /**
+     * Reset all caches. The result is calculated again on the next access.
+     */
+    public void reset() {
+        centralVertices = null;
+        map = null;
+    }
+
+    /**
+     * Return the statistics of the cache
+     * @return the statistics of the cache
+     */
+    public CacheStats getCacheStats() {
+        return stats;
+    }
+
+    /**
+     * Return whether the stored result can be returned without a calculation
+     * @return true if the stored result is present and fresh
+     */
+    protected boolean isCalculated() {
+        return map != null && isFresh();
+    }
+
+    /**
+     * Calculate the result if the stored one is missing or stale
+     */
+    protected void update() {
+        if (isCalculated()) {
+            stats.hit();
+            return;
+        }
+        long version = this.version != null ? this.version.get() : 0;
+        long start = System.nanoTime();
+        Metrics.Phase phase = Metrics.start(getClass(), "calculate");
+        try {
+            calculate();
+        } finally {
+            phase.close();
+        }
+        stats.miss(System.nanoTime() - start);
+        calculatedVersion = version;
+    }
+
+    /**
+     * Return whether the stored result reflects a given graph
+     */
+    private boolean isFresh() {
+        if (cached) {
+            return true;
+        }
+        return version != null && version.isTracked() && version.get() == calculatedVersion;
+    }
+}
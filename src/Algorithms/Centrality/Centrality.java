@@ -2,6 +2,9 @@ package Algorithms.Centrality;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * An interface for classes which calculate the centrality of one vertex.
@@ -24,4 +27,53 @@ public interface Centrality<V> {
      * Return the Map which maps each vertex in the graph to its centrality
      */
     Map<V, Double> getCentralMap ();
+
+    /**
+     * Return whether bigger centrality means more central vertex
+     */
+    default boolean isBiggerMoreCentral () {
+        return true;
+    }
+
+    /**
+     * Return at most k vertices in order of their centrality, from the most central one
+     */
+    default List<V> getMostCentralVertices (int k) {
+        return Ranking.top(getCentralMap(), k, isBiggerMoreCentral());
+    }
+
+    /**
+     * Return the vertices whose centrality is not less than the threshold
+     */
+    default List<V> getVerticesAbove (double threshold) {
+        return Ranking.range(getCentralMap(), threshold, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Return the vertices whose centrality is not more than the threshold
+     */
+    default List<V> getVerticesBelow (double threshold) {
+        return Ranking.range(getCentralMap(), Double.NEGATIVE_INFINITY, threshold);
+    }
+
+    /**
+     * Return the array of centralities, where the index of each vertex is its position in the given list
+     */
+    default double[] getCentralArray (List<V> vertices) {
+        return Ranking.toArray(getCentralMap(), vertices);
+    }
+
+    /**
+     * Return the future of the Map, which is calculated by the executor.
+     * Cancelling the future does not stop a calculation which has started; see EccentricityCentrality for
+     * the calculation which stops cooperatively.
+     */
+    default CompletableFuture<Map<V, Double>> getCentralMapAsync (Executor executor) {
+        return CompletableFuture.supplyAsync(new Supplier<Map<V, Double>>() {
+            @Override
+            public Map<V, Double> get() {
+                return getCentralMap();
+            }
+        }, executor);
+    }
 }
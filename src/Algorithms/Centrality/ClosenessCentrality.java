@@ -0,0 +1,115 @@
+package Algorithms.Centrality;
+
+import Algorithms.Graphs.IndexedGraph;
+import edu.uci.ics.jung.graph.Graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Calculator of the closeness centrality.
+ *
+ * The closeness centrality C(V) is defined as the reciprocal of the average distance between V and
+ * any other vertex U of graph. Therefore, it can be formulated as follows:
+ * C(V) = (n - 1) / sum(distance(V, U))
+ * where n is the number of vertices.
+ *
+ * Bigger the closeness centrality it has, more central vertex it is.
+ * If some vertex is unreachable from V, the sum is infinity and the closeness of V is 0.
+ * Use HarmonicCentrality for graphs which are not connected.
+ *
+ *
+ * Notes
+ *
+ * All properties are calculated on the first access, and all methods return cached properties as default.
+ * Therefore, if graph is edited after the first access, call reset() in order to update properties.
+ * Or you can specify whether results are cached or not when creating an instance.
+ * If not cached, properties are calculated again only when an ObservableGraph is edited (see CachedCentrality).
+ *
+ * Distances are obtained from a DistanceProfile. If the eccentricity or the harmonic centrality of the same graph
+ * is also needed, give them the same profile, so that BFS runs only once from each vertex.
+ *
+ *
+ * References
+ *
+ * A. Bavelas,
+ * Communication Patterns in Task-Oriented Groups,
+ * The Journal of the Acoustical Society of America, 22(6), 725-730, 1950.
+ * http://dx.doi.org/10.1121/1.1906679
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class ClosenessCentrality<V,E> extends CachedCentrality<V,E> {
+
+    private Graph<V,E> graph;
+    private IndexedGraph<V,E> snapshot;
+    private DistanceProfile<V,E> profile;
+
+    /**
+     * Create a new instance with a given graph.
+     * @param graph a given graph
+     */
+    public ClosenessCentrality(Graph<V,E> graph) {
+        super(graph, true);
+        this.graph = graph;
+    }
+
+    /**
+     * Create a new instance with a given graph.
+     * @param graph a given graph
+     * @param cached specifies whether the result is cached or not
+     */
+    public ClosenessCentrality(Graph<V,E> graph, boolean cached) {
+        super(graph, cached);
+        this.graph = graph;
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given graph.
+     * @param snapshot a snapshot of a given graph
+     */
+    public ClosenessCentrality(IndexedGraph<V,E> snapshot) {
+        super(null, true);
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Create a new instance with the distance profile of a given graph, which may be shared with other calculators.
+     * @param profile the distance profile of a given graph
+     */
+    public ClosenessCentrality(DistanceProfile<V,E> profile) {
+        super(null, true);
+        this.profile = profile;
+    }
+
+    /**
+     * Calculate and store central vertices and the map
+     */
+    @Override
+    protected void calculate() {
+        DistanceProfile<V,E> profile = this.profile;
+        if (profile == null) {
+            profile = graph != null ? new DistanceProfile<V,E>(graph) : new DistanceProfile<V,E>(snapshot);
+        }
+        IndexedGraph<V,E> snapshot = profile.getSnapshot();
+        int n = snapshot.numVertices();
+
+        double[] closeness = new double[n];
+        double maximum = 0;
+        for (int i = 0; i < n; i++) {
+            long sum = profile.distanceSum(i);
+            closeness[i] = profile.reached(i) < n || sum == 0 ? 0 : (double) (n - 1) / sum;
+            maximum = Math.max(maximum, closeness[i]);
+        }
+
+        // create the Map which maps each vertex in the graph to its closeness, and store central vertices
+        map = new HashMap<V, Double>(n * 2);
+        centralVertices = new ArrayList<V>();
+        for (int i = 0; i < n; i++) {
+            map.put(snapshot.vertexAt(i), closeness[i]);
+            if (closeness[i] == maximum) {
+                centralVertices.add(snapshot.vertexAt(i));
+            }
+        }
+    }
+}
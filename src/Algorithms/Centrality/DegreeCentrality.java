@@ -1,11 +1,14 @@
 package Algorithms.Centrality;
 
+import Algorithms.GraphGenerators.GraphStructure;
+import Algorithms.Graphs.IndexedGraph;
+import Algorithms.Metrics.Metrics;
 import edu.uci.ics.jung.graph.Graph;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Calculator of the degree centrality.
@@ -17,26 +20,36 @@ import java.util.Map;
  *
  * Notes
  *
- * All properties are stored when creating a new instance, and all methods return cached properties as default.
- * Therefore, if graph is edited after creating a instance, call reset() in order to update properties.
+ * All properties are calculated on the first access, and all methods return cached properties as default.
+ * Therefore, if graph is edited after the first access, call reset() in order to update properties.
  * Or you can specify whether results are cached or not when creating an instance.
+ * If not cached, properties are calculated again only when an ObservableGraph is edited (see CachedCentrality).
+ *
+ * If a snapshot of a given graph is given instead of a graph, degrees are read from the snapshot.
+ * If the structure of a generated graph is also given, degrees are read from the structure in closed form,
+ * and the centrality of each vertex is answered without calculating the map.
+ * The snapshot must be numbered as the structure, which is checked by GraphStructure.matches().
+ *
+ * Vertices are also sorted by their degree with buckets, so that the most central vertices and
+ * the vertices above or below a threshold are answered without scanning the map.
  *
  * Created by mitsunobu on 15/09/05.
  */
-public class DegreeCentrality<V,E> implements Centrality<V> {
+public class DegreeCentrality<V,E> extends CachedCentrality<V,E> {
 
     private Graph<V,E> graph;
-    private List<V> centralVertices;
-    private Map<V, Double> map;
-    private boolean cached = true;
+    private IndexedGraph<V,E> snapshot;
+    private GraphStructure structure;
+    private List<V> ranking;
+    private int[] rankedDegrees;
 
     /**
      * Create a new instance with a given graph.
      * @param graph a given graph
      */
     public DegreeCentrality (Graph<V,E> graph) {
+        super(graph, true);
         this.graph = graph;
-        calculate();
     }
 
     /**
@@ -45,96 +58,145 @@ public class DegreeCentrality<V,E> implements Centrality<V> {
      * @param cached specifies whether the result is cached or not
      */
     public DegreeCentrality (Graph<V,E> graph, boolean cached) {
+        super(graph, cached);
         this.graph = graph;
-        this.cached = cached;
-        if (cached) {
-            calculate();
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given graph.
+     * @param snapshot a snapshot of a given graph
+     */
+    public DegreeCentrality (IndexedGraph<V,E> snapshot) {
+        super(null, true);
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Create a new instance with the snapshot of a generated graph and its structure.
+     * @param snapshot the snapshot of a generated graph, whose vertices are numbered as the structure
+     * @param structure the structure of the generated graph
+     * @throws IllegalArgumentException if the snapshot is not the graph of the structure in the same numbering
+     */
+    public DegreeCentrality (IndexedGraph<V,E> snapshot, GraphStructure structure) {
+        super(null, true);
+        if (!structure.matches(snapshot)) {
+            throw new IllegalArgumentException("snapshot is not numbered as the structure."
+                    + " use the snapshot of createSnapshot() of the generator");
         }
+        this.snapshot = snapshot;
+        this.structure = structure;
     }
 
     /**
-     * Return the centrality of target vertex
+     * Return the degree of the target vertex, which is read from the structure if it is given
      * @param target target vertex
-     * @return the centrality of the target. return null if target vertex is not an element of a given graph.
+     * @return the degree of the target
+     * @throws IllegalArgumentException if the structure is given and the target is not in the snapshot
      */
     @Override
     public double getCentrality(V target) {
-        // immediately return if result is cached
-        if (cached) {
-            return map.get(target);
+        if (structure != null) {
+            int index = snapshot.indexOf(target);
+            if (index < 0) {
+                throw new IllegalArgumentException("vertex is not in the graph: " + target);
+            }
+            return structure.degree(index);
         }
-
-        // calculate and return results
-        reset();
-        return map.get(target);
+        return super.getCentrality(target);
     }
 
     /**
-     * Return the list of central vertices, vertices whose degree is maximum in a given graph
-     * @return the list of central vertices
+     * Return at most k vertices in order of their degree, from the maximum one
+     * @param k the number of vertices
+     * @return the list of vertices whose degree is the biggest
      */
     @Override
-    public List<V> getCentralVertices() {
-        // immediately return if result is cached
-        if (cached) {
-            return centralVertices;
-        }
-
-        // calculate and return results
-        reset();
-        return centralVertices;
+    public List<V> getMostCentralVertices(int k) {
+        update();
+        return new ArrayList<V>(ranking.subList(0, Math.max(0, Math.min(k, ranking.size()))));
     }
 
     /**
-     * Return the Map which maps each vertex in the graph to its degree
-     * @return the Map which maps each vertex in the graph to its degree
+     * Return the vertices whose degree is not less than the threshold, in order of their degree
+     * @param threshold the threshold of the degree
+     * @return the list of vertices whose degree is not less than the threshold
      */
     @Override
-    public Map<V, Double> getCentralMap() {
-        // immediately return if result is cached
-        if (cached) {
-            return map;
+    public List<V> getVerticesAbove(double threshold) {
+        update();
+        int end = 0;
+        while (end < ranking.size() && rankedDegrees[end] >= threshold) {
+            end++;
         }
-
-        // calculate and return results
-        reset();
-        return map;
+        return new ArrayList<V>(ranking.subList(0, end));
     }
 
     /**
-     * Reset all caches and recalculate
+     * Return the vertices whose degree is not more than the threshold, in order of their degree
+     * @param threshold the threshold of the degree
+     * @return the list of vertices whose degree is not more than the threshold
      */
-    public void reset() {
-       centralVertices = null;
-       map = null;
-       calculate();
+    @Override
+    public List<V> getVerticesBelow(double threshold) {
+        update();
+        int begin = ranking.size();
+        while (begin > 0 && rankedDegrees[begin - 1] <= threshold) {
+            begin--;
+        }
+        return new ArrayList<V>(ranking.subList(begin, ranking.size()));
     }
 
     /**
      * Calculate and store central vertices and the map
      */
-    private void calculate() {
-        // calculate and store central vertices
-        int maximumDegree = Integer.MIN_VALUE;
-        for(V v: graph.getVertices()) {
-            int degree = graph.degree(v);
-            if (degree > maximumDegree) {
-                centralVertices = new ArrayList<V>();
-                centralVertices.add(v);
-                maximumDegree = degree;
-            } else if (degree == maximumDegree) {
-                centralVertices.add(v);
-                maximumDegree = degree;
-            } else {
-                // nothing
+    @Override
+    protected void calculate() {
+        List<V> vertices;
+        int[] degrees;
+        if (snapshot != null) {
+            vertices = snapshot.getVertices();
+            degrees = new int[vertices.size()];
+            for (int i = 0; i < degrees.length; i++) {
+                degrees[i] = structure != null ? structure.degree(i) : snapshot.degree(i);
+            }
+        } else {
+            vertices = new ArrayList<V>(graph.getVertices());
+            degrees = new int[vertices.size()];
+            for (int i = 0; i < degrees.length; i++) {
+                degrees[i] = graph.degree(vertices.get(i));
             }
         }
 
+        Metrics.count("degree.vertices", degrees.length);
+
         // create the Map which maps each vertex in the graph to its degree
-        map = new HashMap<V, Double>();
-        for(V v: graph.getVertices()) {
-            map.put(v, (double)graph.degree(v));
+        int maximumDegree = 0;
+        map = new HashMap<V, Double>(vertices.size() * 2);
+        for (int i = 0; i < degrees.length; i++) {
+            maximumDegree = Math.max(maximumDegree, degrees[i]);
+            map.put(vertices.get(i), (double) degrees[i]);
         }
-    }
 
+        // sort vertices by their degree with buckets, from the maximum degree
+        int[] start = new int[maximumDegree + 2];
+        for (int degree: degrees) {
+            start[maximumDegree - degree + 1]++;
+        }
+        for (int d = 1; d < start.length; d++) {
+            start[d] += start[d - 1];
+        }
+        ranking = new ArrayList<V>(Collections.<V>nCopies(degrees.length, null));
+        rankedDegrees = new int[degrees.length];
+        for (int i = 0; i < degrees.length; i++) {
+            int position = start[maximumDegree - degrees[i]]++;
+            ranking.set(position, vertices.get(i));
+            rankedDegrees[position] = degrees[i];
+        }
+
+        // calculate and store central vertices
+        centralVertices = new ArrayList<V>();
+        for (int i = 0; i < rankedDegrees.length && rankedDegrees[i] == maximumDegree; i++) {
+            centralVertices.add(ranking.get(i));
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package Algorithms.Centrality;
+
+import Algorithms.Graphs.IndexedGraph;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Weighted single-source shortest path over the snapshot of a graph.
+ *
+ * Weights are read from a primitive array indexed by edge ids, and tentative distances are kept in an IndexedHeap,
+ * so that no object is allocated while searching. Buffers are given by callers, so that they can be reused
+ * across sources.
+ *
+ *
+ * References
+ *
+ * E. W. Dijkstra,
+ * A Note on Two Problems in Connexion with Graphs,
+ * Numerische Mathematik, 1, 269-271, 1959.
+ * http://dx.doi.org/10.1007/BF01386390
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+final class Dijkstra {
+
+    private Dijkstra() {
+    }
+
+    /**
+     * Read the weight of each edge of the snapshot
+     * @param snapshot the snapshot of a given graph
+     * @param weights the transformer which maps each edge to its weight
+     * @return the weight of each edge, indexed by edge ids
+     * @throws IllegalArgumentException if some weight is negative or not a number
+     */
+    static <V,E> double[] weights(IndexedGraph<V,E> snapshot,
+                                  org.apache.commons.collections15.Transformer<E, ? extends Number> weights) {
+        List<E> edges = snapshot.getEdges();
+        double[] result = new double[edges.size()];
+        for (int e = 0; e < result.length; e++) {
+            double w = weights.transform(edges.get(e)).doubleValue();
+            if (!(w >= 0)) {
+                throw new IllegalArgumentException("weight of edge " + edges.get(e) + " must be non-negative: " + w);
+            }
+            result[e] = w;
+        }
+        return result;
+    }
+
+    /**
+     * Run Dijkstra's algorithm from the source, which stops at the given distance
+     * @param snapshot the snapshot of a given graph
+     * @param weights the weight of each edge, indexed by edge ids
+     * @param source the index of the source vertex
+     * @param distance the buffer for distances. unreached vertices are set to infinity.
+     * @param order the buffer for settled vertices, which are stored in order of their distance
+     * @param heap the heap ordered by the distance buffer, which is empty
+     * @param maxDistance the maximum distance to search. vertices farther than it are not settled.
+     * @return the number of settled vertices
+     */
+    static int run(IndexedGraph<?,?> snapshot, double[] weights, int source, double[] distance, int[] order,
+                   IndexedHeap heap, double maxDistance) {
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        distance[source] = 0;
+        heap.push(source);
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            if (distance[u] > maxDistance) {
+                // the remaining vertices in the heap are all farther than the maximum distance
+                heap.clear();
+                break;
+            }
+            order[settled++] = u;
+            for (int arc = snapshot.begin(u), end = snapshot.end(u); arc < end; arc++) {
+                int v = snapshot.target(arc);
+                double d = distance[u] + weights[snapshot.edgeId(arc)];
+                if (d < distance[v]) {
+                    distance[v] = d;
+                    heap.push(v);
+                }
+            }
+        }
+        return settled;
+    }
+}
@@ -0,0 +1,263 @@
+package Algorithms.Centrality;
+
+import Algorithms.Graphs.CSRGraph;
+import Algorithms.Graphs.IndexedGraph;
+import Algorithms.Metrics.Metrics;
+import edu.uci.ics.jung.graph.Graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The distance profile of each vertex, which is obtained by one BFS from each vertex.
+ *
+ * For each source V, the profile keeps
+ *  - the eccentricity, max(distance(V, U))
+ *  - the sum of distances, sum(distance(V, U))
+ *  - the sum of reciprocals of distances, sum(1 / distance(V, U))
+ *  - the number of vertices reached from V
+ * where U runs over vertices reachable from V except V itself.
+ *
+ * These values are filled together while walking the queue of each BFS, so that eccentricity, closeness and
+ * harmonic centrality of the same graph are calculated by only one all-pairs traversal.
+ * Give the same profile to EccentricityCentrality, ClosenessCentrality and HarmonicCentrality in order to share it.
+ *
+ *
+ * Notes
+ *
+ * Nothing is calculated when creating a new instance. The profile is calculated on the first access,
+ * and it is kept until reset() is called.
+ *
+ * Since the profile of each source does not depend on the others, the calculation can be split across
+ * threads by giving a ForkJoinPool when creating an instance.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class DistanceProfile<V,E> {
+
+    private Graph<V,E> graph;
+    private IndexedGraph<V,E> snapshot;
+    private ForkJoinPool pool;
+    private IndexedGraph<V,E> calculated;
+    private int[] eccentricities;
+    private long[] distanceSums;
+    private double[] reciprocalSums;
+    private int[] reached;
+
+    /**
+     * Create a new instance with a given graph.
+     * @param graph a given graph
+     */
+    public DistanceProfile(Graph<V,E> graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Create a new instance with a given graph, which runs BFS in parallel.
+     * @param graph a given graph
+     * @param pool the pool to run the calculation. the calculation runs sequentially if null.
+     */
+    public DistanceProfile(Graph<V,E> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given graph.
+     * @param snapshot a snapshot of a given graph
+     */
+    public DistanceProfile(IndexedGraph<V,E> snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given graph, which runs BFS in parallel.
+     * @param snapshot a snapshot of a given graph
+     * @param pool the pool to run the calculation. the calculation runs sequentially if null.
+     */
+    public DistanceProfile(IndexedGraph<V,E> snapshot, ForkJoinPool pool) {
+        this.snapshot = snapshot;
+        this.pool = pool;
+    }
+
+    /**
+     * Return the snapshot which the profile is calculated on. vertices are indexed by it.
+     * @return the snapshot
+     */
+    public IndexedGraph<V,E> getSnapshot() {
+        update();
+        return calculated;
+    }
+
+    /**
+     * Return the eccentricity of the vertex
+     * @param v the index of a vertex
+     * @return the eccentricity. return infinity if some vertex is unreachable from the vertex.
+     */
+    public double eccentricity(int v) {
+        update();
+        return reached[v] < calculated.numVertices() ? Double.POSITIVE_INFINITY : eccentricities[v];
+    }
+
+    /**
+     * Return the sum of distances from the vertex to reachable vertices
+     * @param v the index of a vertex
+     * @return the sum of distances
+     */
+    public long distanceSum(int v) {
+        update();
+        return distanceSums[v];
+    }
+
+    /**
+     * Return the sum of reciprocals of distances from the vertex to reachable vertices
+     * @param v the index of a vertex
+     * @return the sum of reciprocals of distances
+     */
+    public double reciprocalSum(int v) {
+        update();
+        return reciprocalSums[v];
+    }
+
+    /**
+     * Return the number of vertices reachable from the vertex, including itself
+     * @param v the index of a vertex
+     * @return the number of reachable vertices
+     */
+    public int reached(int v) {
+        update();
+        return reached[v];
+    }
+
+    /**
+     * Discard the profile. It is calculated again on the next access.
+     */
+    public void reset() {
+        calculated = null;
+        eccentricities = null;
+        distanceSums = null;
+        reciprocalSums = null;
+        reached = null;
+    }
+
+    /**
+     * Return the pool to run the calculation
+     * @return the pool, or null if the calculation runs sequentially
+     */
+    protected ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Calculate the profile of every vertex by BFS from each vertex.
+     * Subclasses can estimate the profile in another way.
+     * @param snapshot the snapshot of a given graph
+     * @param eccentricities the array to store the eccentricity of each vertex within reachable vertices
+     * @param distanceSums the array to store the sum of distances of each vertex
+     * @param reciprocalSums the array to store the sum of reciprocals of distances of each vertex
+     * @param reached the array to store the number of vertices reachable from each vertex
+     */
+    protected void calculate(IndexedGraph<V,E> snapshot, int[] eccentricities, long[] distanceSums,
+                             double[] reciprocalSums, int[] reached) {
+        int n = snapshot.numVertices();
+        ProfileTask task = new ProfileTask(snapshot, eccentricities, distanceSums, reciprocalSums, reached, 0, n,
+                pool == null ? n : Math.max(1, n / (pool.getParallelism() * 8)));
+        if (pool == null) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    /**
+     * Calculate the profile if it is missing
+     */
+    private void update() {
+        if (calculated != null) {
+            return;
+        }
+        IndexedGraph<V,E> snapshot = graph != null ? new CSRGraph<V,E>(graph) : this.snapshot;
+        int n = snapshot.numVertices();
+        eccentricities = new int[n];
+        distanceSums = new long[n];
+        reciprocalSums = new double[n];
+        reached = new int[n];
+        Metrics.Phase phase = Metrics.start(getClass(), "calculate");
+        try {
+            calculate(snapshot, eccentricities, distanceSums, reciprocalSums, reached);
+        } finally {
+            phase.close();
+        }
+        calculated = snapshot;
+    }
+
+    /**
+     * The task which calculates profiles of sources in a range.
+     *
+     * Each task writes only its own range of the result arrays, and each leaf task has its own buffers,
+     * so that no lock is needed.
+     */
+    private static class ProfileTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IndexedGraph<?,?> snapshot;
+        private final int[] eccentricities;
+        private final long[] distanceSums;
+        private final double[] reciprocalSums;
+        private final int[] reached;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        ProfileTask(IndexedGraph<?,?> snapshot, int[] eccentricities, long[] distanceSums, double[] reciprocalSums,
+                    int[] reached, int from, int to, int threshold) {
+            this.snapshot = snapshot;
+            this.eccentricities = eccentricities;
+            this.distanceSums = distanceSums;
+            this.reciprocalSums = reciprocalSums;
+            this.reached = reached;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            // split the range until it becomes small enough
+            if (to - from > threshold) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ProfileTask(snapshot, eccentricities, distanceSums, reciprocalSums, reached,
+                                from, middle, threshold),
+                          new ProfileTask(snapshot, eccentricities, distanceSums, reciprocalSums, reached,
+                                middle, to, threshold));
+                return;
+            }
+
+            int[] distance = new int[snapshot.numVertices()];
+            int[] queue = new int[snapshot.numVertices()];
+            for (int source = from; source < to; source++) {
+                int count = BreadthFirstSearch.run(snapshot, source, distance, queue);
+
+                // vertices in the queue are in order of their distance, so the reciprocal changes only per level
+                long sum = 0;
+                double reciprocal = 0;
+                int level = 0;
+                double step = 0;
+                for (int i = 1; i < count; i++) {
+                    int d = distance[queue[i]];
+                    if (d != level) {
+                        level = d;
+                        step = 1.0 / d;
+                    }
+                    sum += d;
+                    reciprocal += step;
+                }
+                eccentricities[source] = distance[queue[count - 1]];
+                distanceSums[source] = sum;
+                reciprocalSums[source] = reciprocal;
+                reached[source] = count;
+            }
+        }
+    }
+}
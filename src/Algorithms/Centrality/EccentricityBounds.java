@@ -0,0 +1,136 @@
+package Algorithms.Centrality;
+
+import Algorithms.Graphs.IndexedGraph;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The lower and upper bounds of the eccentricity of each vertex, which are obtained by searches from some sources.
+ *
+ * The eccentricity of each searched source is exact. For an undirected graph, a search from V with eccentricity e
+ * also bounds every vertex W by
+ * max(d(V, W), e - d(V, W)) <= C(W) <= e + d(V, W)
+ * and if some search does not reach every vertex, every eccentricity is infinity.
+ * For a directed graph, vertices which are not searched are bounded only by 0 and infinity.
+ *
+ * If every vertex has been searched, the bounds are equal to the eccentricity.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class EccentricityBounds<V> {
+
+    private final IndexedGraph<V,?> snapshot;
+    private final double[] lower;
+    private final double[] upper;
+    private final int numSearches;
+
+    /**
+     * Create a new instance
+     * @param snapshot the snapshot which was searched
+     * @param lower the lower bound of each vertex
+     * @param upper the upper bound of each vertex
+     * @param numSearches the number of searched sources
+     */
+    EccentricityBounds(IndexedGraph<V,?> snapshot, double[] lower, double[] upper, int numSearches) {
+        this.snapshot = snapshot;
+        this.lower = lower;
+        this.upper = upper;
+        this.numSearches = numSearches;
+    }
+
+    /**
+     * Return the lower bound of the eccentricity of the vertex
+     * @param target target vertex
+     * @return the lower bound
+     */
+    public double getLower(V target) {
+        return lower[snapshot.indexOf(target)];
+    }
+
+    /**
+     * Return the upper bound of the eccentricity of the vertex
+     * @param target target vertex
+     * @return the upper bound
+     */
+    public double getUpper(V target) {
+        return upper[snapshot.indexOf(target)];
+    }
+
+    /**
+     * Return whether the eccentricity of the vertex is decided or not
+     * @param target target vertex
+     * @return true if the bounds are equal
+     */
+    public boolean isExact(V target) {
+        int v = snapshot.indexOf(target);
+        return lower[v] == upper[v];
+    }
+
+    /**
+     * Return whether every vertex has been searched or not
+     * @return true if the calculation was not stopped
+     */
+    public boolean isComplete() {
+        return numSearches == snapshot.numVertices();
+    }
+
+    /**
+     * Return the number of searched sources
+     * @return the number of searches
+     */
+    public int getNumSearches() {
+        return numSearches;
+    }
+
+    /**
+     * Return the lower bound of the radius, the minimum eccentricity
+     * @return the minimum of lower bounds
+     */
+    public double getRadiusLower() {
+        double radius = Double.POSITIVE_INFINITY;
+        for (double l : lower) {
+            radius = Math.min(radius, l);
+        }
+        return radius;
+    }
+
+    /**
+     * Return the upper bound of the radius, the minimum eccentricity
+     * @return the minimum of upper bounds
+     */
+    public double getRadiusUpper() {
+        double radius = Double.POSITIVE_INFINITY;
+        for (double u : upper) {
+            radius = Math.min(radius, u);
+        }
+        return radius;
+    }
+
+    /**
+     * Return the Map which maps each vertex to the lower bound of its eccentricity
+     * @return the Map of lower bounds
+     */
+    public Map<V, Double> getLowerMap() {
+        return toMap(lower);
+    }
+
+    /**
+     * Return the Map which maps each vertex to the upper bound of its eccentricity
+     * @return the Map of upper bounds
+     */
+    public Map<V, Double> getUpperMap() {
+        return toMap(upper);
+    }
+
+    /**
+     * Return the Map which maps each vertex to its value in the array
+     */
+    private Map<V, Double> toMap(double[] values) {
+        Map<V, Double> map = new HashMap<V, Double>(values.length * 2);
+        for (int v = 0; v < values.length; v++) {
+            map.put(snapshot.vertexAt(v), values[v]);
+        }
+        return map;
+    }
+}
@@ -1,11 +1,25 @@
 package Algorithms.Centrality;
 
-import edu.uci.ics.jung.algorithms.shortestpath.DijkstraDistance;
+import Algorithms.GraphGenerators.GraphStructure;
+import Algorithms.Graphs.CSRGraph;
+import Algorithms.Graphs.IndexedGraph;
+import Algorithms.Metrics.Metrics;
 import edu.uci.ics.jung.graph.Graph;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 /**
  * Calculator of the eccentricity centrality.
@@ -16,30 +30,71 @@ import java.util.Map;
  *
  * Smaller the eccentricity centrality it has, more central vertex it is.
  * Moreover, the minimum eccentricity is called the radius.
+ * If some vertex is unreachable from V, the eccentricity of V is infinity.
  *
  *
  * Notes
  *
- * All properties are stored when creating a new instance, and all methods return cached properties as default.
- * Therefore, if graph is edited after creating a instance, call reset() in order to update properties.
+ * All properties are calculated on the first access, and all methods return cached properties as default.
+ * Therefore, if graph is edited after the first access, call reset() in order to update properties.
  * Or you can specify whether results are cached or not when creating an instance.
+ * If not cached, properties are calculated again only when an ObservableGraph is edited (see CachedCentrality).
+ *
+ * Since the eccentricity of each vertex does not depend on the others, the calculation can be split across
+ * threads by giving a ForkJoinPool when creating an instance.
+ *
+ * A snapshot of a given graph is created for each calculation. If you already have a snapshot,
+ * you can give it instead of a graph, and it is used as it is.
+ *
+ * If the closeness or the harmonic centrality of the same graph is also needed, give the same DistanceProfile
+ * to all of them, so that BFS runs only once from each vertex.
+ *
+ * If edges have weights such as latencies, give the transformer which maps each edge to its non-negative weight.
+ * Then distances are the sums of weights along shortest paths, which are found by Dijkstra's algorithm
+ * with an indexed binary heap instead of BFS.
+ *
+ * Queries of the most central vertices and of thresholds are answered by BFS with early termination
+ * if the map has not been calculated.
+ *
+ * If the snapshot of a generated graph is given together with its structure (see GridGraphGenerator and
+ * LadderGraphGenerator), eccentricities and the radius are read from the structure in closed form,
+ * and no BFS runs at all. The snapshot must be numbered as the structure, which is checked by
+ * GraphStructure.matches().
+ *
+ * For a large graph, calculateAsync() runs the calculation in the background with a Progress, which reports
+ * the number of searched sources, and stops the calculation when it is cancelled or runs out of its budget.
+ * Then the result has the exact eccentricities of searched sources and the bounds of the others
+ * (see EccentricityBounds).
  *
  * Created by mitsunobu on 15/09/05.
  */
-public class EccentricityCentrality<V,E> implements Centrality<V> {
+public class EccentricityCentrality<V,E> extends CachedCentrality<V,E> {
 
     private Graph<V,E> graph;
-    private List<V> centralVertices;
-    private Map<V, Double> map;
-    private boolean cached = true;
+    private IndexedGraph<V,E> snapshot;
+    private ForkJoinPool pool;
+    private DistanceProfile<V,E> profile;
+    private org.apache.commons.collections15.Transformer<E, ? extends Number> weights;
+    private GraphStructure structure;
 
     /**
      * Create a new instance with a given graph.
      * @param graph a given graph
      */
     public EccentricityCentrality(Graph<V, E> graph) {
+        super(graph, true);
         this.graph = graph;
-        calculate();
+    }
+
+    /**
+     * Create a new instance with a given graph, which calculates eccentricities in parallel.
+     * @param graph a given graph
+     * @param pool the pool to run the calculation. the calculation runs sequentially if null.
+     */
+    public EccentricityCentrality(Graph<V, E> graph, ForkJoinPool pool) {
+        super(graph, true);
+        this.graph = graph;
+        this.pool = pool;
     }
 
     /**
@@ -48,105 +103,611 @@ public class EccentricityCentrality<V,E> implements Centrality<V> {
      * @param cached specifies whether the result is cached or not
      */
     public EccentricityCentrality(Graph<V, E> graph, boolean cached) {
+        super(graph, cached);
+        this.graph = graph;
+    }
+
+    /**
+     * Create a new instance with a given graph, which calculates eccentricities in parallel.
+     * @param graph a given graph
+     * @param cached specifies whether the result is cached or not
+     * @param pool the pool to run the calculation. the calculation runs sequentially if null.
+     */
+    public EccentricityCentrality(Graph<V, E> graph, boolean cached, ForkJoinPool pool) {
+        super(graph, cached);
         this.graph = graph;
-        this.cached = cached;
-        if (cached) {
-            calculate();
+        this.pool = pool;
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given graph.
+     * @param snapshot a snapshot of a given graph
+     */
+    public EccentricityCentrality(IndexedGraph<V, E> snapshot) {
+        super(null, true);
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given graph, which calculates eccentricities in parallel.
+     * @param snapshot a snapshot of a given graph
+     * @param pool the pool to run the calculation. the calculation runs sequentially if null.
+     */
+    public EccentricityCentrality(IndexedGraph<V, E> snapshot, ForkJoinPool pool) {
+        super(null, true);
+        this.snapshot = snapshot;
+        this.pool = pool;
+    }
+
+    /**
+     * Create a new instance with a given weighted graph.
+     * @param graph a given graph
+     * @param weights the transformer which maps each edge to its non-negative weight
+     */
+    public EccentricityCentrality(Graph<V, E> graph,
+                                  org.apache.commons.collections15.Transformer<E, ? extends Number> weights) {
+        this(graph, weights, null);
+    }
+
+    /**
+     * Create a new instance with a given weighted graph, which calculates eccentricities in parallel.
+     * @param graph a given graph
+     * @param weights the transformer which maps each edge to its non-negative weight
+     * @param pool the pool to run the calculation. the calculation runs sequentially if null.
+     */
+    public EccentricityCentrality(Graph<V, E> graph,
+                                  org.apache.commons.collections15.Transformer<E, ? extends Number> weights,
+                                  ForkJoinPool pool) {
+        super(graph, true);
+        this.graph = graph;
+        this.weights = weights;
+        this.pool = pool;
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given weighted graph.
+     * @param snapshot a snapshot of a given graph
+     * @param weights the transformer which maps each edge to its non-negative weight
+     */
+    public EccentricityCentrality(IndexedGraph<V, E> snapshot,
+                                  org.apache.commons.collections15.Transformer<E, ? extends Number> weights) {
+        this(snapshot, weights, null);
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given weighted graph, which calculates eccentricities in parallel.
+     * @param snapshot a snapshot of a given graph
+     * @param weights the transformer which maps each edge to its non-negative weight
+     * @param pool the pool to run the calculation. the calculation runs sequentially if null.
+     */
+    public EccentricityCentrality(IndexedGraph<V, E> snapshot,
+                                  org.apache.commons.collections15.Transformer<E, ? extends Number> weights,
+                                  ForkJoinPool pool) {
+        super(null, true);
+        this.snapshot = snapshot;
+        this.weights = weights;
+        this.pool = pool;
+    }
+
+    /**
+     * Create a new instance with the distance profile of a given graph, which may be shared with other calculators.
+     * @param profile the distance profile of a given graph
+     */
+    public EccentricityCentrality(DistanceProfile<V, E> profile) {
+        super(null, true);
+        this.profile = profile;
+    }
+
+    /**
+     * Create a new instance with the snapshot of a generated graph and its structure.
+     * @param snapshot the snapshot of a generated graph, whose vertices are numbered as the structure
+     * @param structure the structure of the generated graph
+     * @throws IllegalArgumentException if the snapshot is not the graph of the structure in the same numbering
+     */
+    public EccentricityCentrality(IndexedGraph<V, E> snapshot, GraphStructure structure) {
+        super(null, true);
+        if (!structure.matches(snapshot)) {
+            throw new IllegalArgumentException("snapshot is not numbered as the structure."
+                    + " use the snapshot of createSnapshot() of the generator");
         }
+        this.snapshot = snapshot;
+        this.structure = structure;
     }
 
     /**
-     * Return the centrality of target vertex
+     * Return the eccentricity of the target vertex, which is read from the structure if it is given
      * @param target target vertex
-     * @return the centrality of the target. return null if target vertex is not an element of a given graph.
+     * @return the eccentricity of the target
+     * @throws IllegalArgumentException if the structure is given and the target is not in the snapshot
      */
     @Override
     public double getCentrality(V target) {
-        // immediately return if result is cached
-        if (cached) {
-            return map.get(target);
+        if (structure != null) {
+            int index = snapshot.indexOf(target);
+            if (index < 0) {
+                throw new IllegalArgumentException("vertex is not in the graph: " + target);
+            }
+            return structure.eccentricity(index);
         }
+        return super.getCentrality(target);
+    }
 
-        // calculate and return results
-        reset();
-        return map.get(target);
+    /**
+     * Return false, since smaller eccentricity means more central vertex
+     * @return false
+     */
+    @Override
+    public boolean isBiggerMoreCentral() {
+        return false;
     }
 
     /**
-     * Return the list of central vertices, vertices whose eccentricity is minimum in a given graph
-     * @return the list of central vertices
+     * Return at most k vertices in order of their eccentricity, from the minimum one
+     *
+     * If the map is not calculated yet, BFS from each source stops as soon as it gets deeper than
+     * the k-th smallest eccentricity found so far, since such a source cannot be in the result.
+     *
+     * @param k the number of vertices
+     * @return the list of vertices whose eccentricity is the smallest
      */
     @Override
-    public List<V> getCentralVertices() {
-        // immediately return if result is cached
-        if (cached) {
-            return centralVertices;
+    public List<V> getMostCentralVertices(int k) {
+        if (k <= 0) {
+            return new ArrayList<V>();
+        }
+        if (isCalculated() || profile != null || structure != null) {
+            return Ranking.top(getCentralMap(), k, false);
         }
+        IndexedGraph<V, E> snapshot = currentSnapshot();
+        int n = snapshot.numVertices();
+        final double[] eccentricities = new double[n];
+        Search search = new Search(snapshot, arcWeights(snapshot));
 
-        // calculate and return results
-        reset();
-        return centralVertices;
+        // the head of the heap is the vertex whose eccentricity is the biggest among kept ones
+        PriorityQueue<Integer> heap = new PriorityQueue<Integer>(k, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                int c = Double.compare(eccentricities[b], eccentricities[a]);
+                return c != 0 ? c : Integer.compare(b, a);
+            }
+        });
+        for (int source = 0; source < n; source++) {
+            // only a source whose eccentricity is smaller than the head can be kept once the heap is full
+            boolean full = heap.size() == k;
+            double limit = full ? Math.nextDown(eccentricities[heap.peek()]) : Double.POSITIVE_INFINITY;
+            eccentricities[source] = search.eccentricity(source, limit);
+            if (eccentricities[source] == Double.POSITIVE_INFINITY) {
+                // unreachable vertices can be kept only while the heap is not full
+                if (!full) {
+                    heap.offer(source);
+                }
+                continue;
+            }
+            if (full) {
+                heap.poll();
+            }
+            heap.offer(source);
+        }
+
+        List<V> list = new ArrayList<V>(heap.size());
+        while (!heap.isEmpty()) {
+            list.add(snapshot.vertexAt(heap.poll()));
+        }
+        Collections.reverse(list);
+        return list;
     }
 
     /**
-     * Return the Map which maps each vertex in the graph to its eccentricity
-     * @return the Map which maps each vertex in the graph to its eccentricity
+     * Return the vertices whose eccentricity is not less than the threshold
+     *
+     * If the map is not calculated yet, BFS from each source stops as soon as it reaches the threshold.
+     *
+     * @param threshold the threshold of the eccentricity
+     * @return the list of vertices whose eccentricity is not less than the threshold
      */
     @Override
-    public Map<V, Double> getCentralMap() {
-        // immediately return if result is cached
-        if (cached) {
-            return map;
+    public List<V> getVerticesAbove(double threshold) {
+        if (isCalculated() || profile != null || structure != null) {
+            return Ranking.range(getCentralMap(), threshold, Double.POSITIVE_INFINITY);
         }
+        IndexedGraph<V, E> snapshot = currentSnapshot();
+        int n = snapshot.numVertices();
+        Search search = new Search(snapshot, arcWeights(snapshot));
 
-        // calculate and return results
-        reset();
-        return map;
+        // the search stops beyond the threshold, and then the eccentricity is infinity, which is above it
+        List<V> list = new ArrayList<V>();
+        for (int source = 0; source < n; source++) {
+            if (search.eccentricity(source, threshold) >= threshold) {
+                list.add(snapshot.vertexAt(source));
+            }
+        }
+        return list;
     }
 
     /**
-     * Reset all caches and recalculate
+     * Return the vertices whose eccentricity is not more than the threshold
+     *
+     * If the map is not calculated yet, BFS from each source stops as soon as it gets deeper than the threshold.
+     *
+     * @param threshold the threshold of the eccentricity
+     * @return the list of vertices whose eccentricity is not more than the threshold
      */
-    public void reset() {
-        this.centralVertices = null;
-        this.map = null;
-        calculate();
+    @Override
+    public List<V> getVerticesBelow(double threshold) {
+        if (isCalculated() || profile != null || structure != null) {
+            return Ranking.range(getCentralMap(), Double.NEGATIVE_INFINITY, threshold);
+        }
+        IndexedGraph<V, E> snapshot = currentSnapshot();
+        if (threshold == Double.POSITIVE_INFINITY) {
+            return new ArrayList<V>(snapshot.getVertices());
+        }
+        int n = snapshot.numVertices();
+        Search search = new Search(snapshot, arcWeights(snapshot));
+
+        List<V> list = new ArrayList<V>();
+        for (int source = 0; source < n && threshold >= 0; source++) {
+            if (search.eccentricity(source, threshold) <= threshold) {
+                list.add(snapshot.vertexAt(source));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Calculate the bounds of eccentricities, searching from each source as long as the progress allows.
+     *
+     * Unlike getCentralMap(), the result is not stored, and it is calculated again on each call.
+     *
+     * @param progress the progress which reports searched sources and stops the calculation
+     * @return the exact eccentricities of searched sources, and the bounds of the others
+     */
+    public EccentricityBounds<V> getBounds(Progress progress) {
+        IndexedGraph<V, E> snapshot = profile != null ? profile.getSnapshot() : currentSnapshot();
+        int n = snapshot.numVertices();
+        progress.begin(n);
+
+        // eccentricities of sources which are not searched remain NaN
+        double[] eccentricities = new double[n];
+        Arrays.fill(eccentricities, Double.NaN);
+        Bounds bounds;
+        if (profile != null || structure != null) {
+            bounds = new Bounds();
+            for (int i = 0; i < n && progress.tryClaim(); i++) {
+                eccentricities[i] = structure != null ? structure.eccentricity(i) : profile.eccentricity(i);
+                bounds.numSearches++;
+                progress.advance();
+            }
+        } else {
+            double[] weights = arcWeights(snapshot);
+            int threshold = pool == null ? n : Math.max(1, n / (pool.getParallelism() * 8));
+            BoundsTask task = new BoundsTask(snapshot, weights, eccentricities, progress, 0, n, threshold);
+            bounds = pool == null ? task.compute() : pool.invoke(task);
+        }
+
+        // every eccentricity is infinity if an undirected graph is not connected
+        double[] lower = new double[n];
+        double[] upper = new double[n];
+        boolean disconnected = snapshot.isUndirected() && bounds.disconnected;
+        for (int v = 0; v < n; v++) {
+            if (!Double.isNaN(eccentricities[v])) {
+                lower[v] = upper[v] = eccentricities[v];
+            } else if (disconnected) {
+                lower[v] = upper[v] = Double.POSITIVE_INFINITY;
+            } else {
+                lower[v] = bounds.lower != null ? bounds.lower[v] : 0;
+                upper[v] = bounds.upper != null ? bounds.upper[v] : Double.POSITIVE_INFINITY;
+            }
+        }
+        return new EccentricityBounds<V>(snapshot, lower, upper, bounds.numSearches);
+    }
+
+    /**
+     * Calculate the bounds of eccentricities in the background on the common pool (see getBounds()).
+     * @param progress the progress which reports searched sources and stops the calculation
+     * @return the future of the bounds
+     */
+    public CompletableFuture<EccentricityBounds<V>> calculateAsync(Progress progress) {
+        return calculateAsync(progress, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calculate the bounds of eccentricities in the background (see getBounds()).
+     *
+     * Cancelling the future also cancels the progress, so that the calculation stops after the current searches.
+     * Searches themselves run on the pool given when creating the instance, if any.
+     *
+     * @param progress the progress which reports searched sources and stops the calculation
+     * @param executor the executor to run the calculation
+     * @return the future of the bounds
+     */
+    public CompletableFuture<EccentricityBounds<V>> calculateAsync(final Progress progress, Executor executor) {
+        CompletableFuture<EccentricityBounds<V>> future = CompletableFuture.supplyAsync(
+                new Supplier<EccentricityBounds<V>>() {
+                    @Override
+                    public EccentricityBounds<V> get() {
+                        return getBounds(progress);
+                    }
+                }, executor);
+        future.whenComplete(new BiConsumer<EccentricityBounds<V>, Throwable>() {
+            @Override
+            public void accept(EccentricityBounds<V> bounds, Throwable throwable) {
+                if (throwable instanceof CancellationException) {
+                    progress.cancel();
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Return the snapshot of the current graph
+     */
+    private IndexedGraph<V, E> currentSnapshot() {
+        return graph != null ? new CSRGraph<V, E>(graph) : snapshot;
+    }
+
+    /**
+     * Return the weight of each edge of the snapshot, or null if a given graph is unweighted
+     */
+    private double[] arcWeights(IndexedGraph<V, E> snapshot) {
+        return weights != null ? Dijkstra.weights(snapshot, weights) : null;
     }
 
     /**
      * Calculate and store central vertices and the map
+     *
+     * The eccentricity of each source is obtained by one BFS over the snapshot, or by Dijkstra's algorithm if
+     * a given graph is weighted. Distances are kept in primitive arrays, which are reused across sources.
+     */
+    @Override
+    protected void calculate() {
+        // take a snapshot of the current graph
+        IndexedGraph<V, E> snapshot = profile != null ? profile.getSnapshot() : currentSnapshot();
+        List<V> vertices = snapshot.getVertices();
+        int n = vertices.size();
+
+        // calculate the eccentricity of each vertex and the radius
+        double[] eccentricities = new double[n];
+        double radius;
+        if (structure != null) {
+            radius = structure.radius();
+            for (int i = 0; i < n; i++) {
+                eccentricities[i] = structure.eccentricity(i);
+            }
+        } else if (profile != null) {
+            radius = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                eccentricities[i] = profile.eccentricity(i);
+                radius = Math.min(radius, eccentricities[i]);
+            }
+        } else if (pool == null) {
+            radius = new EccentricityTask(snapshot, arcWeights(snapshot), eccentricities, 0, n, n).compute();
+        } else {
+            int threshold = Math.max(1, n / (pool.getParallelism() * 8));
+            radius = pool.invoke(new EccentricityTask(snapshot, arcWeights(snapshot), eccentricities, 0, n, threshold));
+        }
+
+        // create the Map which maps each vertex in the graph to its eccentricity, and store central vertices
+        map = new HashMap<V, Double>(n * 2);
+        centralVertices = new ArrayList<V>();
+        for (int i = 0; i < n; i++) {
+            map.put(vertices.get(i), eccentricities[i]);
+            if (eccentricities[i] == radius) {
+                centralVertices.add(vertices.get(i));
+            }
+        }
+    }
+
+    /**
+     * The task which calculates eccentricities of sources in a range, and returns the minimum of them.
+     *
+     * Each task writes only its own range of the result array, and each leaf task has its own buffers,
+     * so that no lock is needed while merging results.
+     */
+    private static class EccentricityTask extends RecursiveTask<Double> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IndexedGraph<?,?> snapshot;
+        private final double[] weights;
+        private final double[] eccentricities;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        EccentricityTask(IndexedGraph<?,?> snapshot, double[] weights, double[] eccentricities,
+                         int from, int to, int threshold) {
+            this.snapshot = snapshot;
+            this.weights = weights;
+            this.eccentricities = eccentricities;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Double compute() {
+            // split the range until it becomes small enough
+            if (to - from > threshold) {
+                int middle = (from + to) >>> 1;
+                EccentricityTask left = new EccentricityTask(snapshot, weights, eccentricities, from, middle, threshold);
+                EccentricityTask right = new EccentricityTask(snapshot, weights, eccentricities, middle, to, threshold);
+                left.fork();
+                double rightRadius = right.compute();
+                return Math.min(left.join(), rightRadius);
+            }
+
+            Search search = new Search(snapshot, weights);
+            double radius = Double.POSITIVE_INFINITY;
+            for (int source = from; source < to; source++) {
+                eccentricities[source] = search.eccentricity(source, Double.POSITIVE_INFINITY);
+                radius = Math.min(radius, eccentricities[source]);
+            }
+            Metrics.count("eccentricity.searches", to - from);
+            Metrics.count("eccentricity.vertices", search.visited);
+            return radius;
+        }
+    }
+
+    /**
+     * The bounds narrowed by searches of a task. Bounds are allocated on the first search from a source
+     * which reaches every vertex of an undirected graph.
+     */
+    private static class Bounds {
+
+        private double[] lower;
+        private double[] upper;
+        private int numSearches;
+        private boolean disconnected;
+
+        /**
+         * Narrow the bounds of every vertex by the search from a source
+         */
+        void narrow(Search search, double eccentricity) {
+            int n = search.snapshot.numVertices();
+            if (lower == null) {
+                lower = new double[n];
+                upper = new double[n];
+                Arrays.fill(upper, Double.POSITIVE_INFINITY);
+            }
+            for (int w = 0; w < n; w++) {
+                double d = search.distance(w);
+                lower[w] = Math.max(lower[w], Math.max(d, eccentricity - d));
+                upper[w] = Math.min(upper[w], eccentricity + d);
+            }
+        }
+
+        /**
+         * Merge the bounds of another task
+         */
+        void merge(Bounds other) {
+            numSearches += other.numSearches;
+            disconnected |= other.disconnected;
+            if (other.lower == null) {
+                return;
+            }
+            if (lower == null) {
+                lower = other.lower;
+                upper = other.upper;
+                return;
+            }
+            for (int w = 0; w < lower.length; w++) {
+                lower[w] = Math.max(lower[w], other.lower[w]);
+                upper[w] = Math.min(upper[w], other.upper[w]);
+            }
+        }
+    }
+
+    /**
+     * The task which searches sources in a range as long as the progress allows, and returns the bounds.
+     *
+     * Each leaf task has its own bounds, which are merged while joining tasks, so that no lock is needed.
      */
-    private void calculate() {
-        // create the Map which maps each vertex in the graph to its radius
-        for (V target: graph.getVertices()) {
-            DijkstraDistance dd = new DijkstraDistance<V,E>(graph);
-            double eccentricity = 0;
-            for(V v: graph.getVertices()){
-                Number r = 0;
-                r = dd.getDistance(target, v);
-                if(eccentricity < r.intValue()){
-                    eccentricity = r.intValue();
+    private static class BoundsTask extends RecursiveTask<Bounds> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IndexedGraph<?,?> snapshot;
+        private final double[] weights;
+        private final double[] eccentricities;
+        private final Progress progress;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        BoundsTask(IndexedGraph<?,?> snapshot, double[] weights, double[] eccentricities, Progress progress,
+                   int from, int to, int threshold) {
+            this.snapshot = snapshot;
+            this.weights = weights;
+            this.eccentricities = eccentricities;
+            this.progress = progress;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Bounds compute() {
+            // split the range until it becomes small enough
+            if (to - from > threshold) {
+                int middle = (from + to) >>> 1;
+                BoundsTask left = new BoundsTask(snapshot, weights, eccentricities, progress, from, middle, threshold);
+                BoundsTask right = new BoundsTask(snapshot, weights, eccentricities, progress, middle, to, threshold);
+                left.fork();
+                Bounds bounds = right.compute();
+                bounds.merge(left.join());
+                return bounds;
+            }
+
+            // the progress never allows again once it has stopped, so the rest of the range is skipped
+            Search search = new Search(snapshot, weights);
+            Bounds bounds = new Bounds();
+            for (int source = from; source < to && progress.tryClaim(); source++) {
+                double eccentricity = search.eccentricity(source, Double.POSITIVE_INFINITY);
+                eccentricities[source] = eccentricity;
+                bounds.numSearches++;
+                if (eccentricity == Double.POSITIVE_INFINITY) {
+                    bounds.disconnected = true;
+                } else if (snapshot.isUndirected()) {
+                    bounds.narrow(search, eccentricity);
                 }
+                progress.advance();
             }
-            map.put(target, eccentricity);
+            return bounds;
         }
+    }
+
+    /**
+     * Buffers of the search from each source, which runs BFS if edges have no weights, or Dijkstra's algorithm
+     */
+    private static class Search {
+
+        private final IndexedGraph<?,?> snapshot;
+        private final double[] weights;
+        private final int[] queue;
+        private int[] distance;
+        private double[] weightedDistance;
+        private IndexedHeap heap;
+        private long visited;
 
-        // calculate and store central vertices
-        int radius = Integer.MAX_VALUE;
-        for (V v: graph.getVertices()) {
-            int eccentricity = map.get(v).intValue();
-            if (eccentricity < radius) {
-                centralVertices = new ArrayList<V>();
-                centralVertices.add(v);
-                radius = eccentricity;
-            } else if (eccentricity == radius) {
-                centralVertices.add(v);
-                radius = eccentricity;
+        Search(IndexedGraph<?,?> snapshot, double[] weights) {
+            this.snapshot = snapshot;
+            this.weights = weights;
+            this.queue = new int[snapshot.numVertices()];
+            if (weights == null) {
+                distance = new int[snapshot.numVertices()];
             } else {
-                // nothing
+                weightedDistance = new double[snapshot.numVertices()];
+                heap = new IndexedHeap(weightedDistance);
             }
         }
-    }
 
+        /**
+         * Return the eccentricity of the source if every vertex is within the limit
+         * @param source the index of the source vertex
+         * @param limit the maximum distance to search
+         * @return the eccentricity, or infinity if some vertex is farther than the limit or unreachable
+         */
+        double eccentricity(int source, double limit) {
+            int n = snapshot.numVertices();
+            if (weights == null) {
+                int depth = limit >= n ? Integer.MAX_VALUE : (int) Math.floor(limit);
+                int reached = BreadthFirstSearch.run(snapshot, source, distance, queue, depth);
+                visited += reached;
+                return reached < n ? Double.POSITIVE_INFINITY : distance[queue[n - 1]];
+            }
+            int reached = Dijkstra.run(snapshot, weights, source, weightedDistance, queue, heap, limit);
+            visited += reached;
+            return reached < n ? Double.POSITIVE_INFINITY : weightedDistance[queue[n - 1]];
+        }
 
+        /**
+         * Return the distance of the vertex from the last source
+         * @param v the index of a vertex
+         * @return the distance, which is valid only if the vertex was reached
+         */
+        double distance(int v) {
+            return weights == null ? distance[v] : weightedDistance[v];
+        }
+    }
 }
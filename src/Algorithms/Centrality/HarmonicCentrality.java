@@ -0,0 +1,111 @@
+package Algorithms.Centrality;
+
+import Algorithms.Graphs.IndexedGraph;
+import edu.uci.ics.jung.graph.Graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Calculator of the harmonic centrality.
+ *
+ * The harmonic centrality C(V) is defined as the sum of reciprocals of the distance between V and
+ * any other vertex U of graph. Therefore, it can be formulated as follows:
+ * C(V) = sum(1 / distance(V, U))
+ *
+ * Bigger the harmonic centrality it has, more central vertex it is.
+ * Unlike the closeness centrality, an unreachable vertex U just adds 1 / infinity = 0,
+ * so that the harmonic centrality works for graphs which are not connected.
+ *
+ *
+ * Notes
+ *
+ * All properties are calculated on the first access, and all methods return cached properties as default.
+ * Therefore, if graph is edited after the first access, call reset() in order to update properties.
+ * Or you can specify whether results are cached or not when creating an instance.
+ * If not cached, properties are calculated again only when an ObservableGraph is edited (see CachedCentrality).
+ *
+ * Distances are obtained from a DistanceProfile. If the eccentricity or the closeness centrality of the same graph
+ * is also needed, give them the same profile, so that BFS runs only once from each vertex.
+ *
+ *
+ * References
+ *
+ * P. Boldi and S. Vigna,
+ * Axioms for Centrality,
+ * Internet Mathematics, 10(3-4), 222-262, 2014.
+ * http://dx.doi.org/10.1080/15427951.2013.865686
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class HarmonicCentrality<V,E> extends CachedCentrality<V,E> {
+
+    private Graph<V,E> graph;
+    private IndexedGraph<V,E> snapshot;
+    private DistanceProfile<V,E> profile;
+
+    /**
+     * Create a new instance with a given graph.
+     * @param graph a given graph
+     */
+    public HarmonicCentrality(Graph<V,E> graph) {
+        super(graph, true);
+        this.graph = graph;
+    }
+
+    /**
+     * Create a new instance with a given graph.
+     * @param graph a given graph
+     * @param cached specifies whether the result is cached or not
+     */
+    public HarmonicCentrality(Graph<V,E> graph, boolean cached) {
+        super(graph, cached);
+        this.graph = graph;
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given graph.
+     * @param snapshot a snapshot of a given graph
+     */
+    public HarmonicCentrality(IndexedGraph<V,E> snapshot) {
+        super(null, true);
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Create a new instance with the distance profile of a given graph, which may be shared with other calculators.
+     * @param profile the distance profile of a given graph
+     */
+    public HarmonicCentrality(DistanceProfile<V,E> profile) {
+        super(null, true);
+        this.profile = profile;
+    }
+
+    /**
+     * Calculate and store central vertices and the map
+     */
+    @Override
+    protected void calculate() {
+        DistanceProfile<V,E> profile = this.profile;
+        if (profile == null) {
+            profile = graph != null ? new DistanceProfile<V,E>(graph) : new DistanceProfile<V,E>(snapshot);
+        }
+        IndexedGraph<V,E> snapshot = profile.getSnapshot();
+        int n = snapshot.numVertices();
+
+        double maximum = 0;
+        for (int i = 0; i < n; i++) {
+            maximum = Math.max(maximum, profile.reciprocalSum(i));
+        }
+
+        // create the Map which maps each vertex in the graph to its harmonic centrality, and store central vertices
+        map = new HashMap<V, Double>(n * 2);
+        centralVertices = new ArrayList<V>();
+        for (int i = 0; i < n; i++) {
+            map.put(snapshot.vertexAt(i), profile.reciprocalSum(i));
+            if (profile.reciprocalSum(i) == maximum) {
+                centralVertices.add(snapshot.vertexAt(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package Algorithms.Centrality;
+
+import Algorithms.Graphs.IndexedGraph;
+import edu.uci.ics.jung.graph.Graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The approximate distance profile of each vertex, which is estimated by HyperLogLog counters.
+ *
+ * Each vertex V has a HyperLogLog counter of the ball B(V, t), the set of vertices within distance t from V.
+ * Since B(V, t + 1) is the union of B(V, t) and B(W, t) over successors W of V, every ball grows by
+ * one iteration which takes the maximum of registers along each arc. The number of vertices at distance t is
+ * estimated by |B(V, t)| - |B(V, t - 1)|, so that the sum of distances and the sum of reciprocals are obtained,
+ * and the eccentricity is the last iteration which changed the counter of V.
+ * Each iteration takes O(mE) time for m registers per counter, and the number of iterations is the diameter.
+ *
+ * The profile is used in the same way as DistanceProfile. Give it to EccentricityCentrality,
+ * ClosenessCentrality and HarmonicCentrality in order to get approximate centralities in near-linear time.
+ *
+ *
+ * Notes
+ *
+ * The relative standard error of each ball size is about 1.04 / sqrt(m), where m = 2^log2m.
+ * Counters take 2nm bytes, since the counters of the current and the next iteration are kept.
+ * log2mFor() returns the biggest log2m whose counters fit in a given memory.
+ * Registers of all counters are kept in one array, so that n * m must not exceed Integer.MAX_VALUE.
+ *
+ * An eccentricity is never overestimated, but it may be underestimated when the last vertices reached by
+ * a ball do not change any register. If the iteration limit is reached before every counter stops changing,
+ * distances beyond the limit are ignored, and isConverged() returns false.
+ *
+ * For undirected graphs, the number of reachable vertices is obtained exactly from connected components,
+ * so that eccentricity and closeness are infinity and 0 exactly when the graph is not connected.
+ * For directed graphs, it is estimated by the final counter.
+ *
+ *
+ * References
+ *
+ * P. Boldi and S. Vigna,
+ * In-Core Computation of Geometric Centralities with HyperBall: A Hundred Billion Nodes and Beyond,
+ * Proceedings of the IEEE 13th International Conference on Data Mining Workshops, 621-628, 2013.
+ * http://dx.doi.org/10.1109/ICDMW.2013.10
+ *
+ * P. Flajolet, E. Fusy, O. Gandouet and F. Meunier,
+ * HyperLogLog: the analysis of a near-optimal cardinality estimation algorithm,
+ * Proceedings of the 2007 Conference on Analysis of Algorithms, 127-146, 2007.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class HyperBallProfile<V,E> extends DistanceProfile<V,E> {
+
+    private static final int MIN_LOG2M = 4;
+    private static final int MAX_LOG2M = 16;
+    private static final long HASH_SEED = 0x9E3779B97F4A7C15L;
+
+    private int log2m;
+    private int maxIterations;
+    private int numIterations;
+    private boolean converged;
+
+    /**
+     * Create a new instance with a given graph.
+     * @param graph a given graph
+     * @param log2m the logarithm of the number of registers per counter, from 4 to 16
+     * @param maxIterations the maximum number of iterations, namely the maximum distance to be found
+     */
+    public HyperBallProfile(Graph<V,E> graph, int log2m, int maxIterations) {
+        super(graph);
+        setParameters(log2m, maxIterations);
+    }
+
+    /**
+     * Create a new instance with a given graph, which updates counters in parallel.
+     * @param graph a given graph
+     * @param log2m the logarithm of the number of registers per counter, from 4 to 16
+     * @param maxIterations the maximum number of iterations, namely the maximum distance to be found
+     * @param pool the pool to run the calculation. the calculation runs sequentially if null.
+     */
+    public HyperBallProfile(Graph<V,E> graph, int log2m, int maxIterations, ForkJoinPool pool) {
+        super(graph, pool);
+        setParameters(log2m, maxIterations);
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given graph.
+     * @param snapshot a snapshot of a given graph
+     * @param log2m the logarithm of the number of registers per counter, from 4 to 16
+     * @param maxIterations the maximum number of iterations, namely the maximum distance to be found
+     */
+    public HyperBallProfile(IndexedGraph<V,E> snapshot, int log2m, int maxIterations) {
+        super(snapshot);
+        setParameters(log2m, maxIterations);
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given graph, which updates counters in parallel.
+     * @param snapshot a snapshot of a given graph
+     * @param log2m the logarithm of the number of registers per counter, from 4 to 16
+     * @param maxIterations the maximum number of iterations, namely the maximum distance to be found
+     * @param pool the pool to run the calculation. the calculation runs sequentially if null.
+     */
+    public HyperBallProfile(IndexedGraph<V,E> snapshot, int log2m, int maxIterations, ForkJoinPool pool) {
+        super(snapshot, pool);
+        setParameters(log2m, maxIterations);
+    }
+
+    /**
+     * Return the biggest log2m whose counters fit in a given memory
+     * @param numVertices the number of vertices
+     * @param maxBytes the memory for counters in bytes
+     * @return log2m, which is at least 4
+     */
+    public static int log2mFor(int numVertices, long maxBytes) {
+        int log2m = MIN_LOG2M;
+        while (log2m < MAX_LOG2M && 2L * numVertices << (log2m + 1) <= maxBytes
+                && (long) numVertices << (log2m + 1) <= Integer.MAX_VALUE) {
+            log2m++;
+        }
+        return log2m;
+    }
+
+    /**
+     * Return the relative standard error of each ball size
+     * @return the relative standard error
+     */
+    public double getRelativeStandardError() {
+        return 1.04 / Math.sqrt(1 << log2m);
+    }
+
+    /**
+     * Return the number of iterations of the last calculation
+     * @return the number of iterations
+     */
+    public int getNumIterations() {
+        getSnapshot();
+        return numIterations;
+    }
+
+    /**
+     * Return whether every counter stopped changing within the iteration limit
+     * @return true if the calculation converged
+     */
+    public boolean isConverged() {
+        getSnapshot();
+        return converged;
+    }
+
+    /**
+     * Estimate the profile of every vertex by HyperLogLog counters
+     * @param snapshot the snapshot of a given graph
+     * @param eccentricities the array to store the eccentricity of each vertex within reachable vertices
+     * @param distanceSums the array to store the sum of distances of each vertex
+     * @param reciprocalSums the array to store the sum of reciprocals of distances of each vertex
+     * @param reached the array to store the number of vertices reachable from each vertex
+     */
+    @Override
+    protected void calculate(IndexedGraph<V,E> snapshot, int[] eccentricities, long[] distanceSums,
+                             double[] reciprocalSums, int[] reached) {
+        int n = snapshot.numVertices();
+        int m = 1 << log2m;
+        if ((long) n * m > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too many registers for " + n + " vertices. lower log2m: " + log2m);
+        }
+        byte[] current = new byte[n * m];
+        byte[] next = new byte[n * m];
+        double[] sizes = new double[n];
+        double[] sums = new double[n];
+
+        // each ball of distance 0 contains only its center
+        for (int v = 0; v < n; v++) {
+            long hash = mix(v + HASH_SEED);
+            int register = (int) (hash >>> (64 - log2m));
+            // the rank is the position of the first 1 bit after the register bits, bounded by a sentinel bit
+            int rank = Long.numberOfLeadingZeros((hash << log2m) | (1L << (log2m - 1))) + 1;
+            current[v * m + register] = (byte) rank;
+            sizes[v] = estimate(current, v, m);
+        }
+
+        ForkJoinPool pool = getPool();
+        int threshold = pool == null ? n : Math.max(1, n / (pool.getParallelism() * 8));
+        converged = false;
+        numIterations = 0;
+        for (int t = 1; t <= maxIterations && !converged; t++) {
+            IterationTask task = new IterationTask(snapshot, current, next, m, t, sizes, sums, reciprocalSums,
+                    eccentricities, 0, n, threshold);
+            boolean changed = pool == null ? task.compute() : pool.invoke(task);
+            byte[] swap = current;
+            current = next;
+            next = swap;
+            numIterations = t;
+            converged = !changed;
+        }
+
+        for (int v = 0; v < n; v++) {
+            distanceSums[v] = Math.round(sums[v]);
+            reached[v] = (int) Math.max(1, Math.min(n, Math.round(sizes[v])));
+        }
+        if (snapshot.isUndirected()) {
+            countComponents(snapshot, reached);
+        }
+    }
+
+    /**
+     * Check and store parameters
+     */
+    private void setParameters(int log2m, int maxIterations) {
+        if (log2m < MIN_LOG2M || log2m > MAX_LOG2M) {
+            throw new IllegalArgumentException("log2m must be from " + MIN_LOG2M + " to " + MAX_LOG2M + ": " + log2m);
+        }
+        this.log2m = log2m;
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Store the size of the connected component of each vertex, which is found by BFS from each component
+     */
+    private static void countComponents(IndexedGraph<?,?> snapshot, int[] reached) {
+        int n = snapshot.numVertices();
+        int[] queue = new int[n];
+        boolean[] visited = new boolean[n];
+        for (int source = 0; source < n; source++) {
+            if (visited[source]) {
+                continue;
+            }
+            visited[source] = true;
+            queue[0] = source;
+            int head = 0;
+            int tail = 1;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int arc = snapshot.begin(u), end = snapshot.end(u); arc < end; arc++) {
+                    int v = snapshot.target(arc);
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            for (int i = 0; i < tail; i++) {
+                reached[queue[i]] = tail;
+            }
+        }
+    }
+
+    /**
+     * Estimate the number of elements in the counter of the vertex
+     * @param counters the registers of all counters
+     * @param v the index of a vertex
+     * @param m the number of registers per counter
+     * @return the estimated number of elements
+     */
+    static double estimate(byte[] counters, int v, int m) {
+        double sum = 0;
+        int zeros = 0;
+        for (int i = v * m, end = i + m; i < end; i++) {
+            sum += Double.longBitsToDouble((1023L - counters[i]) << 52);
+            if (counters[i] == 0) {
+                zeros++;
+            }
+        }
+        double alpha = m == 16 ? 0.673 : m == 32 ? 0.697 : m == 64 ? 0.709 : 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+
+        // linear counting is more accurate for small sets
+        if (estimate <= 2.5 * m && zeros > 0) {
+            return m * Math.log((double) m / zeros);
+        }
+        return estimate;
+    }
+
+    /**
+     * Mix bits of the value, which is the finalizer of SplitMix64
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * The task which updates counters of vertices in a range for one iteration, and returns whether some changed.
+     *
+     * Each task writes only the next counters and the profiles of its own range, and reads only the current
+     * counters, so that no lock is needed.
+     */
+    private static class IterationTask extends RecursiveTask<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IndexedGraph<?,?> snapshot;
+        private final byte[] current;
+        private final byte[] next;
+        private final int m;
+        private final int t;
+        private final double[] sizes;
+        private final double[] sums;
+        private final double[] reciprocalSums;
+        private final int[] eccentricities;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        IterationTask(IndexedGraph<?,?> snapshot, byte[] current, byte[] next, int m, int t, double[] sizes,
+                      double[] sums, double[] reciprocalSums, int[] eccentricities, int from, int to, int threshold) {
+            this.snapshot = snapshot;
+            this.current = current;
+            this.next = next;
+            this.m = m;
+            this.t = t;
+            this.sizes = sizes;
+            this.sums = sums;
+            this.reciprocalSums = reciprocalSums;
+            this.eccentricities = eccentricities;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Boolean compute() {
+            // split the range until it becomes small enough
+            if (to - from > threshold) {
+                int middle = (from + to) >>> 1;
+                IterationTask left = new IterationTask(snapshot, current, next, m, t, sizes, sums, reciprocalSums,
+                        eccentricities, from, middle, threshold);
+                IterationTask right = new IterationTask(snapshot, current, next, m, t, sizes, sums, reciprocalSums,
+                        eccentricities, middle, to, threshold);
+                left.fork();
+                boolean changed = right.compute();
+                return left.join() | changed;
+            }
+
+            boolean changed = false;
+            for (int v = from; v < to; v++) {
+                // the ball of distance t is the union of the balls of distance t - 1 of v and its successors
+                int offset = v * m;
+                System.arraycopy(current, offset, next, offset, m);
+                for (int arc = snapshot.begin(v), end = snapshot.end(v); arc < end; arc++) {
+                    int w = snapshot.target(arc) * m;
+                    for (int i = 0; i < m; i++) {
+                        if (current[w + i] > next[offset + i]) {
+                            next[offset + i] = current[w + i];
+                        }
+                    }
+                }
+                boolean grown = false;
+                for (int i = 0; i < m; i++) {
+                    if (next[offset + i] != current[offset + i]) {
+                        grown = true;
+                        break;
+                    }
+                }
+                if (!grown) {
+                    continue;
+                }
+
+                // vertices newly in the ball are at distance t
+                changed = true;
+                double size = estimate(next, v, m);
+                double added = Math.max(0, size - sizes[v]);
+                sizes[v] = Math.max(sizes[v], size);
+                sums[v] += t * added;
+                reciprocalSums[v] += added / t;
+                eccentricities[v] = t;
+            }
+            return changed;
+        }
+    }
+}
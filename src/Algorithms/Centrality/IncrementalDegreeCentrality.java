@@ -0,0 +1,225 @@
+package Algorithms.Centrality;
+
+import edu.uci.ics.jung.graph.ObservableGraph;
+import edu.uci.ics.jung.graph.event.GraphEvent;
+import edu.uci.ics.jung.graph.event.GraphEventListener;
+import edu.uci.ics.jung.graph.util.Pair;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Calculator of the degree centrality, which follows mutations of a given graph.
+ *
+ * The degree centrality is the same as DegreeCentrality.
+ * However, this calculator listens to events of a given observable graph, and updates the degree of
+ * the endpoints of each added or removed edge in O(1). Vertices are kept in buckets by their degree,
+ * so that the central vertices are always found in the bucket of the maximum degree.
+ *
+ *
+ * Notes
+ *
+ * A given graph is scanned only once when creating a new instance. After that, the graph must be edited
+ * through the observable graph, otherwise the calculator cannot follow the mutations.
+ * Call dispose() to stop listening to the graph.
+ *
+ * Since endpoints of a removed edge are no longer available from the graph when the event arrives,
+ * this calculator keeps endpoints of each edge by itself.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class IncrementalDegreeCentrality<V,E> implements Centrality<V>, GraphEventListener<V,E> {
+
+    private ObservableGraph<V,E> graph;
+    private Map<V, Integer> degrees;
+    private Map<E, Pair<V>> endpoints;
+    private List<Set<V>> buckets;
+    private int maximumDegree;
+
+    /**
+     * Create a new instance with a given graph, and start listening to it.
+     * @param graph a given graph
+     */
+    public IncrementalDegreeCentrality(ObservableGraph<V,E> graph) {
+        this.graph = graph;
+        degrees = new HashMap<V, Integer>(graph.getVertexCount() * 2);
+        endpoints = new HashMap<E, Pair<V>>(graph.getEdgeCount() * 2);
+        buckets = new ArrayList<Set<V>>();
+        maximumDegree = 0;
+
+        for (V v: graph.getVertices()) {
+            addVertex(v);
+        }
+        for (E e: graph.getEdges()) {
+            addEdge(e, graph.getEndpoints(e));
+        }
+        graph.addGraphEventListener(this);
+    }
+
+    /**
+     * Return the centrality of target vertex
+     * @param target target vertex
+     * @return the centrality of the target
+     */
+    @Override
+    public double getCentrality(V target) {
+        return degrees.get(target);
+    }
+
+    /**
+     * Return the list of central vertices, vertices whose degree is maximum in a given graph
+     * @return the list of central vertices
+     */
+    @Override
+    public List<V> getCentralVertices() {
+        if (degrees.isEmpty()) {
+            return new ArrayList<V>();
+        }
+        return new ArrayList<V>(buckets.get(maximumDegree));
+    }
+
+    /**
+     * Return the Map which maps each vertex in the graph to its degree
+     * @return the Map which maps each vertex in the graph to its degree
+     */
+    @Override
+    public Map<V, Double> getCentralMap() {
+        Map<V, Double> map = new HashMap<V, Double>(degrees.size() * 2);
+        for (Map.Entry<V, Integer> entry: degrees.entrySet()) {
+            map.put(entry.getKey(), (double) entry.getValue());
+        }
+        return map;
+    }
+
+    /**
+     * Return the maximum degree in a given graph
+     * @return the maximum degree
+     */
+    public int getMaximumDegree() {
+        return maximumDegree;
+    }
+
+    /**
+     * Stop listening to a given graph
+     */
+    public void dispose() {
+        graph.removeGraphEventListener(this);
+    }
+
+    /**
+     * Update degrees by an event of a given graph
+     * @param event the event of a given graph
+     */
+    @Override
+    public void handleGraphEvent(GraphEvent<V,E> event) {
+        switch (event.getType()) {
+            case VERTEX_ADDED:
+                addVertex(((GraphEvent.Vertex<V,E>) event).getVertex());
+                break;
+            case VERTEX_REMOVED:
+                // incident edges have already been removed with their own events
+                removeVertex(((GraphEvent.Vertex<V,E>) event).getVertex());
+                break;
+            case EDGE_ADDED:
+                E added = ((GraphEvent.Edge<V,E>) event).getEdge();
+                addEdge(added, graph.getEndpoints(added));
+                break;
+            case EDGE_REMOVED:
+                removeEdge(((GraphEvent.Edge<V,E>) event).getEdge());
+                break;
+            default:
+                // nothing
+        }
+    }
+
+    /**
+     * Add the vertex to the bucket of degree 0
+     */
+    private void addVertex(V v) {
+        if (degrees.containsKey(v)) {
+            return;
+        }
+        degrees.put(v, 0);
+        bucket(0).add(v);
+    }
+
+    /**
+     * Remove the vertex from its bucket
+     */
+    private void removeVertex(V v) {
+        Integer degree = degrees.remove(v);
+        if (degree != null) {
+            buckets.get(degree).remove(v);
+            lowerMaximumDegree();
+        }
+    }
+
+    /**
+     * Remember endpoints of the edge, and increment their degrees
+     */
+    private void addEdge(E e, Pair<V> pair) {
+        endpoints.put(e, pair);
+        // ObservableGraph fires EDGE_ADDED without VERTEX_ADDED for new endpoints
+        addVertex(pair.getFirst());
+        addVertex(pair.getSecond());
+        move(pair.getFirst(), 1);
+        if (!pair.getFirst().equals(pair.getSecond())) {
+            move(pair.getSecond(), 1);
+        }
+    }
+
+    /**
+     * Forget endpoints of the edge, and decrement their degrees
+     */
+    private void removeEdge(E e) {
+        Pair<V> pair = endpoints.remove(e);
+        if (pair == null) {
+            return;
+        }
+        move(pair.getFirst(), -1);
+        if (!pair.getFirst().equals(pair.getSecond())) {
+            move(pair.getSecond(), -1);
+        }
+    }
+
+    /**
+     * Move the vertex to the bucket of its new degree
+     */
+    private void move(V v, int difference) {
+        int degree = degrees.get(v);
+        buckets.get(degree).remove(v);
+        degree += difference;
+        degrees.put(v, degree);
+        bucket(degree).add(v);
+
+        if (degree > maximumDegree) {
+            maximumDegree = degree;
+        } else {
+            lowerMaximumDegree();
+        }
+    }
+
+    /**
+     * Lower the maximum degree while its bucket is empty. Since a degree changes by 1 at once,
+     * this loop runs at most once for each mutation.
+     */
+    private void lowerMaximumDegree() {
+        while (maximumDegree > 0 && buckets.get(maximumDegree).isEmpty()) {
+            maximumDegree--;
+        }
+    }
+
+    /**
+     * Return the bucket of the degree, creating buckets up to it if needed
+     */
+    private Set<V> bucket(int degree) {
+        while (buckets.size() <= degree) {
+            buckets.add(new LinkedHashSet<V>());
+        }
+        return buckets.get(degree);
+    }
+}
@@ -0,0 +1,117 @@
+package Algorithms.Centrality;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of vertex indices, which are ordered by keys in a given array.
+ *
+ * The position of each vertex in the heap is kept, so that the key of a vertex in the heap can be decreased
+ * in O(log V) time without searching it. The heap is backed by int arrays allocated once, so that it can be
+ * reused across sources without allocation.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+final class IndexedHeap {
+
+    private final double[] keys;
+    private final int[] heap;
+    private final int[] position;
+    private int size;
+
+    /**
+     * Create a new instance
+     * @param keys the keys of vertices, which are read on each operation
+     */
+    IndexedHeap(double[] keys) {
+        this.keys = keys;
+        this.heap = new int[keys.length];
+        this.position = new int[keys.length];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Return whether the heap is empty or not
+     * @return true if the heap is empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Insert the vertex, or move it up if its key has been decreased while it is in the heap
+     * @param v the index of a vertex
+     */
+    void push(int v) {
+        int i = position[v];
+        if (i < 0) {
+            i = size++;
+        }
+        siftUp(v, i);
+    }
+
+    /**
+     * Remove the vertex whose key is the smallest
+     * @return the index of the vertex
+     */
+    int poll() {
+        int top = heap[0];
+        position[top] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            siftDown(last, 0);
+        }
+        return top;
+    }
+
+    /**
+     * Remove all vertices
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Move the vertex up from the slot until its parent is not bigger
+     */
+    private void siftUp(int v, int i) {
+        double key = keys[v];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if (keys[p] <= key) {
+                break;
+            }
+            heap[i] = p;
+            position[p] = i;
+            i = parent;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+
+    /**
+     * Move the vertex down from the slot until its children are not smaller
+     */
+    private void siftDown(int v, int i) {
+        double key = keys[v];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int c = heap[child];
+            if (child + 1 < size && keys[heap[child + 1]] < keys[c]) {
+                c = heap[++child];
+            }
+            if (key <= keys[c]) {
+                break;
+            }
+            heap[i] = c;
+            position[c] = i;
+            i = child;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+}
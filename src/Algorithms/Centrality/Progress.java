@@ -0,0 +1,134 @@
+package Algorithms.Centrality;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The control of a long calculation, which reports its progress and stops it cooperatively.
+ *
+ * The calculation asks the progress before each unit of work, such as a search from one source,
+ * and it stops as soon as the progress is cancelled or its budget is exhausted. The budget is the time since
+ * the calculation started, or the number of units. Then the calculation returns the result which is obtained
+ * by the units done so far.
+ *
+ * A progress is used by only one calculation. It can be cancelled from any thread.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class Progress {
+
+    private final ProgressListener listener;
+    private final long timeBudgetNanos;
+    private final long workBudget;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong done = new AtomicLong();
+    private volatile boolean cancelled;
+    private volatile boolean started;
+    private volatile long total;
+    private volatile long deadline;
+
+    /**
+     * Create a new instance without listener and budget
+     */
+    public Progress() {
+        this(null);
+    }
+
+    /**
+     * Create a new instance without budget
+     * @param listener the listener which receives the progress, or null
+     */
+    public Progress(ProgressListener listener) {
+        this(listener, Long.MAX_VALUE, TimeUnit.NANOSECONDS, Long.MAX_VALUE);
+    }
+
+    /**
+     * Create a new instance with budgets
+     * @param listener the listener which receives the progress, or null
+     * @param timeBudget the time which the calculation may take. Long.MAX_VALUE means no limit.
+     * @param unit the unit of the time budget
+     * @param workBudget the number of units which the calculation may do. Long.MAX_VALUE means no limit.
+     */
+    public Progress(ProgressListener listener, long timeBudget, TimeUnit unit, long workBudget) {
+        if (timeBudget < 0 || workBudget < 0) {
+            throw new IllegalArgumentException("budgets must be non-negative: " + timeBudget + ", " + workBudget);
+        }
+        this.listener = listener;
+        this.timeBudgetNanos = timeBudget == Long.MAX_VALUE ? Long.MAX_VALUE : unit.toNanos(timeBudget);
+        this.workBudget = workBudget;
+    }
+
+    /**
+     * Stop the calculation. Units which have already started are finished.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Return whether the calculation has been cancelled or not
+     * @return true if cancel() has been called
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Return whether the calculation has run out of its budget
+     * @return true if the time or the number of units has exceeded the budget
+     */
+    public boolean isExhausted() {
+        return claimed.get() >= workBudget || (started && System.nanoTime() - deadline > 0);
+    }
+
+    /**
+     * Return the number of units done so far
+     * @return the number of units done
+     */
+    public long getDone() {
+        return done.get();
+    }
+
+    /**
+     * Return the number of units of the whole calculation
+     * @return the number of units, or 0 if the calculation has not started
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Start the calculation, and the time budget
+     * @param total the number of units of the whole calculation
+     */
+    void begin(long total) {
+        if (started) {
+            throw new IllegalStateException("the progress is already used by another calculation");
+        }
+        // the deadline is compared by the difference from the current time, so that overflow does not matter
+        deadline = System.nanoTime() + timeBudgetNanos;
+        this.total = total;
+        started = true;
+    }
+
+    /**
+     * Claim the next unit of work
+     * @return true if the unit may be done, or false if the calculation has to stop
+     */
+    boolean tryClaim() {
+        if (cancelled || System.nanoTime() - deadline > 0) {
+            return false;
+        }
+        return claimed.incrementAndGet() <= workBudget;
+    }
+
+    /**
+     * Report that a claimed unit has been done
+     */
+    void advance() {
+        long d = done.incrementAndGet();
+        if (listener != null) {
+            listener.progress(d, total);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package Algorithms.Centrality;
+
+/**
+ * An interface for listeners which receive the progress of a long calculation.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public interface ProgressListener {
+
+    /**
+     * Receive the progress after each unit of work, such as a search from one source.
+     * It may be called from several threads at once if the calculation runs in parallel.
+     * @param done the number of units done so far
+     * @param total the number of units of the whole calculation
+     */
+    void progress(long done, long total);
+}
@@ -0,0 +1,91 @@
+package Algorithms.Centrality;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Queries over the map of centralities, which are the default implementations of Centrality.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+final class Ranking {
+
+    private Ranking() {
+    }
+
+    /**
+     * Return at most k vertices in order of their centrality, from the most central one.
+     * Only k entries are kept in a heap, so that it takes O(V log k) time.
+     * @param map the Map which maps each vertex to its centrality
+     * @param k the number of vertices
+     * @param biggerMoreCentral specifies whether bigger centrality means more central vertex
+     * @return the list of the most central vertices
+     */
+    static <V> List<V> top(Map<V, Double> map, int k, final boolean biggerMoreCentral) {
+        if (k <= 0) {
+            return new ArrayList<V>();
+        }
+
+        // the head of the heap is the least central vertex among kept ones
+        PriorityQueue<Map.Entry<V, Double>> heap = new PriorityQueue<Map.Entry<V, Double>>(k,
+                new Comparator<Map.Entry<V, Double>>() {
+                    @Override
+                    public int compare(Map.Entry<V, Double> a, Map.Entry<V, Double> b) {
+                        int c = Double.compare(a.getValue(), b.getValue());
+                        return biggerMoreCentral ? c : -c;
+                    }
+                });
+        for (Map.Entry<V, Double> entry: map.entrySet()) {
+            if (heap.size() < k) {
+                heap.offer(entry);
+            } else if (heap.comparator().compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(entry);
+            }
+        }
+
+        List<V> list = new ArrayList<V>(heap.size());
+        while (!heap.isEmpty()) {
+            list.add(heap.poll().getKey());
+        }
+        Collections.reverse(list);
+        return list;
+    }
+
+    /**
+     * Return vertices whose centrality is within the range
+     * @param map the Map which maps each vertex to its centrality
+     * @param from the lower bound of the range, which is inclusive
+     * @param to the upper bound of the range, which is inclusive
+     * @return the list of vertices within the range
+     */
+    static <V> List<V> range(Map<V, Double> map, double from, double to) {
+        List<V> list = new ArrayList<V>();
+        for (Map.Entry<V, Double> entry: map.entrySet()) {
+            double value = entry.getValue();
+            if (from <= value && value <= to) {
+                list.add(entry.getKey());
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Return the centralities of vertices in the array
+     * @param map the Map which maps each vertex to its centrality
+     * @param vertices the list of vertices, which gives the index of each vertex
+     * @return the array of centralities. NaN for vertices which are not in the map.
+     */
+    static <V> double[] toArray(Map<V, Double> map, List<V> vertices) {
+        double[] array = new double[vertices.size()];
+        for (int i = 0; i < array.length; i++) {
+            Double value = map.get(vertices.get(i));
+            array[i] = value == null ? Double.NaN : value;
+        }
+        return array;
+    }
+}
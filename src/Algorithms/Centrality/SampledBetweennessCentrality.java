@@ -0,0 +1,195 @@
+package Algorithms.Centrality;
+
+import Algorithms.Graphs.CSRGraph;
+import Algorithms.Graphs.IndexedGraph;
+import edu.uci.ics.jung.graph.Graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Calculator of the approximate betweenness centrality, which runs Brandes' algorithm from sampled sources.
+ *
+ * The betweenness centrality is the same as BetweennessCentrality.
+ * However, only k sources are chosen uniformly at random without replacement, and the sum of their dependencies
+ * is multiplied by n / k, which is an unbiased estimate of the betweenness. The calculation takes O(kE).
+ *
+ * The dependency on each source is between 0 and n - 2. By Hoeffding's inequality and the union bound over
+ * all vertices, every estimate is within
+ * n (n - 2) sqrt(ln(2n / delta) / 2k)
+ * of the exact betweenness with probability at least 1 - delta (halved for undirected graphs).
+ * getErrorBound() returns this bound, and samplesFor() returns k which makes the bound a given fraction of
+ * the maximum possible betweenness.
+ *
+ *
+ * Notes
+ *
+ * All properties are calculated on the first access, and all methods return cached properties as default.
+ * Therefore, if graph is edited after the first access, call reset() in order to update properties.
+ * Or you can specify whether results are cached or not when creating an instance.
+ * If not cached, properties are calculated again only when an ObservableGraph is edited (see CachedCentrality).
+ *
+ * The same seed chooses the same sources, so that the result can be reproduced.
+ * If k is not less than the number of vertices, the result is the exact betweenness.
+ *
+ *
+ * References
+ *
+ * U. Brandes and C. Pich,
+ * Centrality Estimation in Large Networks,
+ * International Journal of Bifurcation and Chaos, 17(7), 2303-2318, 2007.
+ * http://dx.doi.org/10.1142/S0218127407018403
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class SampledBetweennessCentrality<V,E> extends CachedCentrality<V,E> {
+
+    private Graph<V,E> graph;
+    private IndexedGraph<V,E> snapshot;
+    private int samples;
+    private long seed;
+    private ForkJoinPool pool;
+    private int numVertices;
+    private int numSources;
+    private boolean undirected;
+
+    /**
+     * Create a new instance with a given graph.
+     * @param graph a given graph
+     * @param samples the number of sampled sources
+     * @param seed the seed of random numbers to choose sources
+     */
+    public SampledBetweennessCentrality(Graph<V,E> graph, int samples, long seed) {
+        super(graph, true);
+        this.graph = graph;
+        this.samples = samples;
+        this.seed = seed;
+    }
+
+    /**
+     * Create a new instance with a given graph, which calculates the betweenness in parallel.
+     * @param graph a given graph
+     * @param samples the number of sampled sources
+     * @param seed the seed of random numbers to choose sources
+     * @param pool the pool to run the calculation. the calculation runs sequentially if null.
+     */
+    public SampledBetweennessCentrality(Graph<V,E> graph, int samples, long seed, ForkJoinPool pool) {
+        super(graph, true);
+        this.graph = graph;
+        this.samples = samples;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given graph.
+     * @param snapshot a snapshot of a given graph
+     * @param samples the number of sampled sources
+     * @param seed the seed of random numbers to choose sources
+     */
+    public SampledBetweennessCentrality(IndexedGraph<V,E> snapshot, int samples, long seed) {
+        super(null, true);
+        this.snapshot = snapshot;
+        this.samples = samples;
+        this.seed = seed;
+    }
+
+    /**
+     * Create a new instance with a snapshot of a given graph, which calculates the betweenness in parallel.
+     * @param snapshot a snapshot of a given graph
+     * @param samples the number of sampled sources
+     * @param seed the seed of random numbers to choose sources
+     * @param pool the pool to run the calculation. the calculation runs sequentially if null.
+     */
+    public SampledBetweennessCentrality(IndexedGraph<V,E> snapshot, int samples, long seed, ForkJoinPool pool) {
+        super(null, true);
+        this.snapshot = snapshot;
+        this.samples = samples;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /**
+     * Return the number of sources which makes the error of every estimate at most epsilon times
+     * the maximum possible betweenness, (n - 1)(n - 2), with probability at least 1 - delta
+     * @param numVertices the number of vertices
+     * @param epsilon the bound of the error relative to the maximum possible betweenness
+     * @param delta the probability that some estimate exceeds the bound
+     * @return the number of sources
+     */
+    public static int samplesFor(int numVertices, double epsilon, double delta) {
+        if (numVertices < 3) {
+            return numVertices;
+        }
+        double ratio = (double) numVertices / (numVertices - 1);
+        double k = ratio * ratio * Math.log(2 * numVertices / delta) / (2 * epsilon * epsilon);
+        return (int) Math.min(numVertices, Math.ceil(k));
+    }
+
+    /**
+     * Return the bound of the error, which every estimate is within with probability at least 1 - delta
+     * @param delta the probability that some estimate exceeds the bound
+     * @return the bound of the absolute error. return 0 if every vertex is a source.
+     */
+    public double getErrorBound(double delta) {
+        update();
+        if (numSources >= numVertices) {
+            return 0;
+        }
+        double n = numVertices;
+        double bound = n * (n - 2) * Math.sqrt(Math.log(2 * n / delta) / (2 * numSources));
+        return undirected ? bound / 2 : bound;
+    }
+
+    /**
+     * Calculate and store central vertices and the map
+     */
+    @Override
+    protected void calculate() {
+        IndexedGraph<V,E> snapshot = graph != null ? new CSRGraph<V,E>(graph) : this.snapshot;
+        int n = snapshot.numVertices();
+        int k = Math.max(0, Math.min(samples, n));
+
+        // choose k sources by the partial Fisher-Yates shuffle
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] sources = new int[k];
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(n - i);
+            int swap = indices[i];
+            indices[i] = indices[j];
+            indices[j] = swap;
+            sources[i] = indices[i];
+        }
+        double[] betweenness = Brandes.accumulate(snapshot, sources, pool);
+
+        // scale the sum of sampled dependencies, where each pair of an undirected graph is counted from both ends
+        double scale = k == 0 ? 0 : (double) n / k;
+        if (snapshot.isUndirected()) {
+            scale /= 2;
+        }
+        double maximum = 0;
+        for (int i = 0; i < n; i++) {
+            betweenness[i] *= scale;
+            maximum = Math.max(maximum, betweenness[i]);
+        }
+        numVertices = n;
+        numSources = k;
+        undirected = snapshot.isUndirected();
+
+        // create the Map which maps each vertex in the graph to its betweenness, and store central vertices
+        map = new HashMap<V, Double>(n * 2);
+        centralVertices = new ArrayList<V>();
+        for (int i = 0; i < n; i++) {
+            map.put(snapshot.vertexAt(i), betweenness[i]);
+            if (betweenness[i] == maximum) {
+                centralVertices.add(snapshot.vertexAt(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package Algorithms.GraphGenerators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Generation of edges in fixed blocks of a range of units, such as vertices or rows of a generator.
+ *
+ * The range is always split into the same blocks, and the lists of blocks are concatenated in order.
+ * Therefore, the result does not depend on how many threads generate the blocks.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+final class EdgeBlocks {
+
+    /**
+     * The number of units in each block
+     */
+    static final int BLOCK_SIZE = 4096;
+
+    /**
+     * The generator of edges in a block
+     */
+    interface Block {
+        /**
+         * Generate the edges of units from the first to the last
+         * @param block the index of the block
+         * @param from the first unit, which is inclusive
+         * @param to the last unit, which is exclusive
+         * @param sink the sink which receives the edges
+         */
+        void generate(int block, int from, int to, EdgeSink sink);
+    }
+
+    private EdgeBlocks() {
+    }
+
+    /**
+     * Return the number of blocks for the units
+     * @param numUnits the number of units
+     * @return the number of blocks
+     */
+    static int numBlocks(int numUnits) {
+        return (numUnits + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    /**
+     * Generate edges of all blocks, and concatenate them in order
+     * @param numUnits the number of units
+     * @param executor the executor to generate blocks in parallel. blocks are generated sequentially if null.
+     * @param block the generator of edges in a block
+     * @return the list of all edges
+     */
+    static EdgeList generate(int numUnits, ExecutorService executor, final Block block) {
+        if (executor == null) {
+            EdgeList edges = new EdgeList(numUnits);
+            emit(numUnits, block, edges);
+            return edges;
+        }
+
+        int numBlocks = numBlocks(numUnits);
+        List<Callable<EdgeList>> tasks = new ArrayList<Callable<EdgeList>>(numBlocks);
+        for (int b = 0; b < numBlocks; b++) {
+            final int index = b;
+            final int from = b * BLOCK_SIZE;
+            final int to = Math.min(numUnits, (b + 1) * BLOCK_SIZE);
+            tasks.add(new Callable<EdgeList>() {
+                @Override
+                public EdgeList call() {
+                    EdgeList edges = new EdgeList(to - from);
+                    block.generate(index, from, to, edges);
+                    return edges;
+                }
+            });
+        }
+        List<EdgeList> lists = new ArrayList<EdgeList>(numBlocks);
+        try {
+            for (Future<EdgeList> future: executor.invokeAll(tasks)) {
+                lists.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("generation of edges was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("generation of edges failed", e.getCause());
+        }
+        return EdgeList.concat(lists);
+    }
+
+    /**
+     * Emit edges of all blocks to the sink in order, without keeping them
+     * @param numUnits the number of units
+     * @param block the generator of edges in a block
+     * @param sink the sink which receives the edges
+     */
+    static void emit(int numUnits, Block block, EdgeSink sink) {
+        int numBlocks = numBlocks(numUnits);
+        for (int b = 0; b < numBlocks; b++) {
+            block.generate(b, b * BLOCK_SIZE, Math.min(numUnits, (b + 1) * BLOCK_SIZE), sink);
+        }
+    }
+}
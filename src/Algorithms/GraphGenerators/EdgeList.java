@@ -0,0 +1,137 @@
+package Algorithms.GraphGenerators;
+
+import Algorithms.Graphs.BulkLoadable;
+import Algorithms.Graphs.CSRGraph;
+import edu.uci.ics.jung.graph.Graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The list of edges between vertex indices, which is generated before creating a graph.
+ *
+ * Each edge is a pair of the index of its source and the index of its target.
+ * Edges are kept in primitive arrays, so that generators can produce them without creating vertex and edge objects.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class EdgeList implements EdgeSink {
+
+    private int[] sources;
+    private int[] targets;
+    private int size;
+
+    /**
+     * Create a new empty list
+     * @param capacity the initial capacity of the list
+     */
+    public EdgeList(int capacity) {
+        sources = new int[Math.max(capacity, 1)];
+        targets = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Add an edge to the list
+     * @param source the index of the source vertex
+     * @param target the index of the target vertex
+     */
+    @Override
+    public void add(int source, int target) {
+        if (size == sources.length) {
+            int capacity = size * 2;
+            int[] grownSources = new int[capacity];
+            int[] grownTargets = new int[capacity];
+            System.arraycopy(sources, 0, grownSources, 0, size);
+            System.arraycopy(targets, 0, grownTargets, 0, size);
+            sources = grownSources;
+            targets = grownTargets;
+        }
+        sources[size] = source;
+        targets[size] = target;
+        size++;
+    }
+
+    /**
+     * Return the number of edges
+     * @return the number of edges
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the index of the source vertex of the edge
+     * @param i the index of an edge
+     * @return the index of the source vertex
+     */
+    public int source(int i) {
+        return sources[i];
+    }
+
+    /**
+     * Return the index of the target vertex of the edge
+     * @param i the index of an edge
+     * @return the index of the target vertex
+     */
+    public int target(int i) {
+        return targets[i];
+    }
+
+    /**
+     * Add all vertices and then all edges in the list to a given graph, in order of the list.
+     * If a given graph is BulkLoadable, they are loaded at once instead of by addVertex() and addEdge().
+     * @param graph a given graph
+     * @param vertices the list of vertices, which maps each index to its vertex
+     * @param edgeFactory the factory to use to create edge
+     */
+    @SuppressWarnings("unchecked")
+    public <V,E> void addTo(Graph<V,E> graph,
+                            List<V> vertices,
+                            org.apache.commons.collections15.Factory<E> edgeFactory) {
+        if (graph instanceof BulkLoadable) {
+            ((BulkLoadable<V,E>) graph).bulkLoad(vertices, sources, targets, size, edgeFactory);
+            return;
+        }
+        for (V v: vertices) {
+            graph.addVertex(v);
+        }
+        for (int i = 0; i < size; i++) {
+            graph.addEdge(edgeFactory.create(), vertices.get(sources[i]), vertices.get(targets[i]));
+        }
+    }
+
+    /**
+     * Create the snapshot of the graph which has the vertices and the undirected edges in the list,
+     * without creating the graph. Unlike addTo(), an edge which joins the same pair of vertices as an earlier edge is kept.
+     * @param vertices the list of vertices, which maps each index to its vertex
+     * @param edgeFactory the factory to use to create edge
+     * @return the snapshot, whose edges are numbered in order of the list
+     */
+    public <V,E> CSRGraph<V,E> toSnapshot(List<V> vertices,
+                                          org.apache.commons.collections15.Factory<E> edgeFactory) {
+        List<E> edges = new ArrayList<E>(size);
+        for (int i = 0; i < size; i++) {
+            edges.add(edgeFactory.create());
+        }
+        return new CSRGraph<V,E>(vertices, edges, sources, targets, true);
+    }
+
+    /**
+     * Concatenate lists in order
+     * @param lists the lists to concatenate
+     * @return the new list which contains all edges of the lists
+     */
+    public static EdgeList concat(List<EdgeList> lists) {
+        int total = 0;
+        for (EdgeList list: lists) {
+            total += list.size;
+        }
+        EdgeList concatenated = new EdgeList(total);
+        for (EdgeList list: lists) {
+            System.arraycopy(list.sources, 0, concatenated.sources, concatenated.size, list.size);
+            System.arraycopy(list.targets, 0, concatenated.targets, concatenated.size, list.size);
+            concatenated.size += list.size;
+        }
+        return concatenated;
+    }
+}
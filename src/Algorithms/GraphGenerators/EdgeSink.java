@@ -0,0 +1,16 @@
+package Algorithms.GraphGenerators;
+
+/**
+ * An interface for consumers of edges between vertex indices, which generators emit one by one.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public interface EdgeSink {
+
+    /**
+     * Receive an edge
+     * @param source the index of the source vertex
+     * @param target the index of the target vertex
+     */
+    void add(int source, int target);
+}
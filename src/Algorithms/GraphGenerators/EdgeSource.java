@@ -0,0 +1,21 @@
+package Algorithms.GraphGenerators;
+
+/**
+ * An interface for generators which can emit their edges between vertex indices without creating a graph.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public interface EdgeSource {
+
+    /**
+     * Return the number of vertices, where vertices are numbered from 0 to getNumVertices() - 1
+     * @return the number of vertices
+     */
+    int getNumVertices();
+
+    /**
+     * Emit all edges to the sink one by one
+     * @param sink the sink which receives edges
+     */
+    void emit(EdgeSink sink);
+}
@@ -0,0 +1,81 @@
+package Algorithms.GraphGenerators;
+
+import Algorithms.Graphs.IndexedGraph;
+
+/**
+ * The descriptor of the structure of a generated graph, which answers its properties in closed form.
+ *
+ * Vertices are numbered by their indices as the generator creates them, so that the descriptor matches
+ * the snapshot of createSnapshot(). Each property is answered in O(1) without walking the graph.
+ *
+ * A snapshot numbered in another order, such as the snapshot of a graph in order of getVertices(),
+ * has the same numbers of vertices and edges, but the properties of its indices are different.
+ * matches() checks every arc of a snapshot against the structure before it is trusted.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public interface GraphStructure {
+
+    /**
+     * Return the number of vertices
+     * @return the number of vertices
+     */
+    int numVertices();
+
+    /**
+     * Return the number of edges
+     * @return the number of edges
+     */
+    int numEdges();
+
+    /**
+     * Return whether two vertices are joined by an edge
+     * @param u the index of a vertex
+     * @param v the index of another vertex
+     * @return true if the vertices are adjacent
+     */
+    boolean isAdjacent(int u, int v);
+
+    /**
+     * Return the degree of the vertex
+     * @param v the index of a vertex
+     * @return the degree of the vertex
+     */
+    int degree(int v);
+
+    /**
+     * Return the eccentricity of the vertex, which is the maximum number of hops to any other vertex
+     * @param v the index of a vertex
+     * @return the eccentricity of the vertex
+     */
+    int eccentricity(int v);
+
+    /**
+     * Return the radius, which is the minimum eccentricity
+     * @return the radius
+     */
+    int radius();
+
+    /**
+     * Return whether the snapshot is the graph of the structure, numbered in the same order.
+     * Every arc is checked by isAdjacent() in O(V + E) time, without hashing vertices or walking the graph.
+     * @param snapshot a snapshot
+     * @return true if the snapshot has the same vertices and edges at the same indices
+     */
+    default boolean matches(IndexedGraph<?,?> snapshot) {
+        if (!snapshot.isUndirected() || snapshot.numVertices() != numVertices() || snapshot.numEdges() != numEdges()) {
+            return false;
+        }
+        for (int v = 0; v < snapshot.numVertices(); v++) {
+            if (snapshot.degree(v) != degree(v)) {
+                return false;
+            }
+            for (int arc = snapshot.begin(v), end = snapshot.end(v); arc < end; arc++) {
+                if (!isAdjacent(v, snapshot.target(arc))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
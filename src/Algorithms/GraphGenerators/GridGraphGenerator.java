@@ -1,9 +1,13 @@
 package Algorithms.GraphGenerators;
 
+import Algorithms.Graphs.CSRGraph;
+import Algorithms.Metrics.Metrics;
 import edu.uci.ics.jung.algorithms.generators.GraphGenerator;
 import edu.uci.ics.jung.graph.Graph;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * The generator of grid graph.
@@ -17,7 +21,7 @@ import java.util.ArrayList;
  *
  * Created by mitsunobu on 15/09/05.
  */
-public class GridGraphGenerator<V,E> implements GraphGenerator<V,E>, org.apache.commons.collections15.Factory<Graph<V,E>> {
+public class GridGraphGenerator<V,E> implements GraphGenerator<V,E>, org.apache.commons.collections15.Factory<Graph<V,E>>, EdgeSource {
 
     private org.apache.commons.collections15.Factory<Graph<V,E>> graphFactory;
     private org.apache.commons.collections15.Factory<V> vertexFactory;
@@ -57,44 +61,168 @@ public class GridGraphGenerator<V,E> implements GraphGenerator<V,E>, org.apache.
      */
     @Override
     public Graph<V, E> create() {
-        Graph<V,E> graph = graphFactory.create();
+        return create(null);
+    }
+
+    /**
+     * create grid graph, whose edges are generated in parallel
+     * @param executor the executor to generate edges. edges are generated sequentially if null.
+     * @return grid graph
+     */
+    public Graph<V, E> create(ExecutorService executor) {
+        EdgeList edges;
+        Metrics.Phase phase = Metrics.start(getClass(), "createEdgeList");
+        try {
+            edges = createEdgeList(executor);
+        } finally {
+            phase.close();
+        }
+        Metrics.count("generator.edges", edges.size());
+
+        phase = Metrics.start(getClass(), "addTo");
+        try {
+            Graph<V,E> graph = graphFactory.create();
+            List<V> vList = createVertices();
+
+            edges.addTo(graph, vList, edgeFactory);
+            return graph;
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * create grid graph directly as a snapshot, without creating the graph through jung.
+     * vertices and edges are created in the same order as create(), and edges are undirected.
+     * @param executor the executor to generate edges. edges are generated sequentially if null.
+     * @return the snapshot of grid graph
+     */
+    public CSRGraph<V, E> createSnapshot(ExecutorService executor) {
+        EdgeList edges;
+        Metrics.Phase phase = Metrics.start(getClass(), "createEdgeList");
+        try {
+            edges = createEdgeList(executor);
+        } finally {
+            phase.close();
+        }
+        Metrics.count("generator.edges", edges.size());
+
+        phase = Metrics.start(getClass(), "toSnapshot");
+        try {
+            List<V> vList = createVertices();
+            return edges.toSnapshot(vList, edgeFactory);
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * create all vertices in order of their indices
+     */
+    private List<V> createVertices() {
         int column = (int) Math.sqrt(numVertices);
-        int i = 3;
-        int m = 3;
-
-        // create all vertices
-        ArrayList<V> vList = new ArrayList<V>();
-        for(int j = 0; j < numVertices ; j++) vList.add(vertexFactory.create());
-
-        // add first four vertices and edges
-        for(int j = 0; j < 4; j++) graph.addVertex(vList.get(0));
-        graph.addEdge(edgeFactory.create(), vList.get(0), vList.get(1));
-        graph.addEdge(edgeFactory.create(), vList.get(1), vList.get(2));
-        graph.addEdge(edgeFactory.create(), vList.get(2), vList.get(3));
-        graph.addEdge(edgeFactory.create(), vList.get(0), vList.get(3));
-
-        // add other vertices and edges
-        for(int j = 2; j < column; j++){
-            graph.addVertex(vList.get(++i));
-            graph.addEdge(edgeFactory.create(), vList.get(i-m), vList.get(i));
-
-            for(int k = 1; k < j; k++){
-                graph.addVertex(vList.get(++i));
-                graph.addEdge(edgeFactory.create(), vList.get(i-m), vList.get(i));
-                graph.addEdge(edgeFactory.create(), vList.get(i-1), vList.get(i));
-            }
+        List<V> vList = new ArrayList<V>(column * column);
+        for(int j = 0; j < column * column ; j++) {
+            vList.add(vertexFactory.create());
+        }
+        return vList;
+    }
+
+    /**
+     * create the list of edges of grid graph, whose vertices are numbered as create()
+     *
+     * The vertices of the j-th shell, which surrounds the j * j grid, are numbered from j * j to (j + 1) * (j + 1) - 1.
+     * Each vertex adds its edges to the vertices numbered before it, whose indices follow from its shell and offset.
+     * Therefore, edges are generated in blocks of vertices, which have the same size whatever the shells are.
+     *
+     * @param executor the executor to generate edges. edges are generated sequentially if null.
+     * @return the list of edges
+     */
+    public EdgeList createEdgeList(ExecutorService executor) {
+        return EdgeBlocks.generate(getNumVertices(), executor, vertices());
+    }
+
+    /**
+     * emit edges of grid graph to the sink one by one, without creating the graph.
+     * vertices are numbered as create(), and only O(1) memory is used.
+     * @param sink the sink which receives edges
+     */
+    @Override
+    public void emit(EdgeSink sink) {
+        EdgeBlocks.emit(getNumVertices(), vertices(), sink);
+    }
+
+    /**
+     * Return the number of vertices for the generated graph, which is the biggest square within numVertices
+     * @return the number of vertices
+     */
+    @Override
+    public int getNumVertices() {
+        int column = (int) Math.sqrt(numVertices);
+        return column * column;
+    }
+
+    /**
+     * Return the structure of grid graph, which answers degrees and eccentricities without walking the graph.
+     * vertices are numbered as create() and createSnapshot().
+     * @return the structure of grid graph
+     */
+    public GridStructure getStructure() {
+        return new GridStructure((int) Math.sqrt(numVertices));
+    }
 
-            graph.addVertex(vList.get(++i));
-            graph.addEdge(edgeFactory.create(), vList.get(i-1), vList.get(i));
+    /**
+     * Return the generator of edges, where the i-th unit adds the edges between the i-th vertex and
+     * the vertices numbered before it
+     */
+    private EdgeBlocks.Block vertices() {
+        return new EdgeBlocks.Block() {
+            @Override
+            public void generate(int block, int from, int to, EdgeSink sink) {
+                for (int i = from; i < to; i++) {
+                    addVertex(sink, i);
+                }
+            }
+        };
+    }
 
-            m += 2;
+    /**
+     * add edges between the i-th vertex and the vertices numbered before it.
+     *
+     * The i-th vertex is at the offset i - j * j of the j-th shell, which goes down the j-th column from the top
+     * and then goes left along the j-th row. Therefore, the vertex is joined to the vertex beside it in
+     * the previous shell, and to the previous vertex of the same shell except at the top of the shell.
+     *
+     * @param edges the sink which receives edges
+     * @param i the index of the vertex
+     */
+    private static void addVertex(EdgeSink edges, int i) {
+        int j = GridStructure.shell(i);
+        int offset = i - j * j;
 
-            for(int k = 0; k < j; k++){
-                graph.addVertex(vList.get(++i));
-                graph.addEdge(edgeFactory.create(), vList.get(i-m), vList.get(i));
-                graph.addEdge(edgeFactory.create(), vList.get(i-1), vList.get(i));
+        // the first four vertices form a cycle
+        if (j == 1) {
+            if (offset == 2) {
+                edges.add(2, 3);
+                edges.add(0, 3);
+            } else {
+                edges.add(i - 1, i);
             }
+            return;
+        }
+        if (j == 0) {
+            return;
+        }
+
+        if (offset < j) {
+            // on the j-th column, beside the (j - 1)-th column of the previous shell
+            edges.add(i - (2 * j - 1), i);
+        } else if (offset > j) {
+            // on the j-th row, below the (j - 1)-th row of the previous shell
+            edges.add(i - (2 * j + 1), i);
+        }
+        if (offset > 0) {
+            edges.add(i - 1, i);
         }
-        return graph;
     }
 }
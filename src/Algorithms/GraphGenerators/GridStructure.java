@@ -0,0 +1,151 @@
+package Algorithms.GraphGenerators;
+
+/**
+ * The structure of grid graph, whose vertices are numbered by shells as GridGraphGenerator.
+ *
+ * The j-th shell goes down the j-th column from the top, and then goes left along the j-th row.
+ *
+ * 0 - 1 - 4 -
+ * |   |   |
+ * 3 - 2 - 5 -
+ * |   |   |
+ * 8 - 7 - 6 -
+ *
+ * The eccentricity of a vertex is the Manhattan distance to the farthest corner.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class GridStructure implements GraphStructure {
+
+    private final int column;
+
+    /**
+     * Create a new instance
+     * @param column the number of vertices in each row and in each column
+     */
+    GridStructure(int column) {
+        this.column = column;
+    }
+
+    /**
+     * Return the number of vertices in each row and in each column
+     * @return the number of columns
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Return the number of vertices
+     * @return the number of vertices
+     */
+    @Override
+    public int numVertices() {
+        return column * column;
+    }
+
+    /**
+     * Return the number of edges, which is column - 1 in each row and row - 1 in each column
+     * @return the number of edges
+     */
+    @Override
+    public int numEdges() {
+        return 2 * column * (column - 1);
+    }
+
+    /**
+     * Return whether two vertices are next to each other in a row or in a column
+     * @param u the index of a vertex
+     * @param v the index of another vertex
+     * @return true if the vertices are adjacent
+     */
+    @Override
+    public boolean isAdjacent(int u, int v) {
+        return Math.abs(row(u) - row(v)) + Math.abs(column(u) - column(v)) == 1;
+    }
+
+    /**
+     * Return the row of the vertex, from the top
+     * @param v the index of a vertex
+     * @return the row of the vertex
+     */
+    public int row(int v) {
+        int shell = shell(v);
+        int offset = v - shell * shell;
+        return offset <= shell ? offset : shell;
+    }
+
+    /**
+     * Return the column of the vertex, from the left
+     * @param v the index of a vertex
+     * @return the column of the vertex
+     */
+    public int column(int v) {
+        int shell = shell(v);
+        int offset = v - shell * shell;
+        return offset <= shell ? shell : 2 * shell - offset;
+    }
+
+    /**
+     * Return the degree of the vertex, which is 4 except on the border
+     * @param v the index of a vertex
+     * @return the degree of the vertex
+     */
+    @Override
+    public int degree(int v) {
+        int row = row(v);
+        int col = column(v);
+        int degree = 4;
+        if (row == 0) {
+            degree--;
+        }
+        if (row == column - 1) {
+            degree--;
+        }
+        if (col == 0) {
+            degree--;
+        }
+        if (col == column - 1) {
+            degree--;
+        }
+        return degree;
+    }
+
+    /**
+     * Return the eccentricity of the vertex, which is the distance to the farthest corner
+     * @param v the index of a vertex
+     * @return the eccentricity of the vertex
+     */
+    @Override
+    public int eccentricity(int v) {
+        int row = row(v);
+        int col = column(v);
+        return Math.max(row, column - 1 - row) + Math.max(col, column - 1 - col);
+    }
+
+    /**
+     * Return the radius, which is the eccentricity of the middle of the grid
+     * @return the radius
+     */
+    @Override
+    public int radius() {
+        return 2 * (column / 2);
+    }
+
+    /**
+     * Return the index of the shell which contains the vertex
+     * @param v the index of a vertex
+     * @return the index of the shell
+     */
+    static int shell(int v) {
+        int shell = (int) Math.sqrt(v);
+        // correct the rounding error of the square root
+        while (shell * shell > v) {
+            shell--;
+        }
+        while ((shell + 1) * (shell + 1) <= v) {
+            shell++;
+        }
+        return shell;
+    }
+}
@@ -1,9 +1,13 @@
 package Algorithms.GraphGenerators;
 
+import Algorithms.Graphs.CSRGraph;
+import Algorithms.Metrics.Metrics;
 import edu.uci.ics.jung.algorithms.generators.GraphGenerator;
 import edu.uci.ics.jung.graph.Graph;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * The generator of ladder graph.
@@ -14,7 +18,7 @@ import java.util.ArrayList;
  *
  * Created by mitsunobu on 15/09/05.
  */
-public class LadderGraphGenerator<V,E> implements GraphGenerator<V,E>, org.apache.commons.collections15.Factory<Graph<V,E>> {
+public class LadderGraphGenerator<V,E> implements GraphGenerator<V,E>, org.apache.commons.collections15.Factory<Graph<V,E>>, EdgeSource {
 
     private org.apache.commons.collections15.Factory<Graph<V,E>> graphFactory;
     private org.apache.commons.collections15.Factory<V> vertexFactory;
@@ -50,37 +54,144 @@ public class LadderGraphGenerator<V,E> implements GraphGenerator<V,E>, org.apach
      */
     @Override
     public Graph<V, E> create() {
-        Graph<V,E> graph = graphFactory.create();
+        return create(null);
+    }
+
+    /**
+     * create ladder graph, whose edges are generated in parallel
+     * @param executor the executor to generate edges. edges are generated sequentially if null.
+     * @return ladder graph
+     */
+    public Graph<V, E> create(ExecutorService executor) {
+        EdgeList edges;
+        Metrics.Phase phase = Metrics.start(getClass(), "createEdgeList");
+        try {
+            edges = createEdgeList(executor);
+        } finally {
+            phase.close();
+        }
+        Metrics.count("generator.edges", edges.size());
+
+        phase = Metrics.start(getClass(), "addTo");
+        try {
+            Graph<V,E> graph = graphFactory.create();
+            List<V> vList = createVertices();
+
+            edges.addTo(graph, vList, edgeFactory);
+            return graph;
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * create ladder graph directly as a snapshot, without creating the graph through jung.
+     * vertices and edges are created in the same order as create(), and edges are undirected.
+     * @param executor the executor to generate edges. edges are generated sequentially if null.
+     * @return the snapshot of ladder graph
+     */
+    public CSRGraph<V, E> createSnapshot(ExecutorService executor) {
+        EdgeList edges;
+        Metrics.Phase phase = Metrics.start(getClass(), "createEdgeList");
+        try {
+            edges = createEdgeList(executor);
+        } finally {
+            phase.close();
+        }
+        Metrics.count("generator.edges", edges.size());
+
+        phase = Metrics.start(getClass(), "toSnapshot");
+        try {
+            List<V> vList = createVertices();
+            return edges.toSnapshot(vList, edgeFactory);
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * create all vertices in order of their indices
+     */
+    private List<V> createVertices() {
+        List<V> vList = new ArrayList<V>(numVertices);
+        for(int j = 0; j < numVertices ; j++) {
+            vList.add(vertexFactory.create());
+        }
+        return vList;
+    }
+
+    /**
+     * create the list of edges of ladder graph, whose vertices are numbered as create()
+     * @param executor the executor to generate edges. edges are generated sequentially if null.
+     * @return the list of edges
+     */
+    public EdgeList createEdgeList(ExecutorService executor) {
+        return EdgeBlocks.generate(numRungs(), executor, rungs());
+    }
+
+    /**
+     * emit edges of ladder graph to the sink one by one, without creating the graph.
+     * vertices are numbered as create(), and only O(1) memory is used.
+     * @param sink the sink which receives edges
+     */
+    @Override
+    public void emit(EdgeSink sink) {
+        EdgeBlocks.emit(numRungs(), rungs(), sink);
+    }
 
+    /**
+     * Return the number of vertices for the generated graph
+     * @return the number of vertices
+     */
+    @Override
+    public int getNumVertices() {
+        return numVertices % 2 != 0 ? numVertices + 1 : numVertices;
+    }
+
+    /**
+     * Return the structure of ladder graph, which answers degrees and eccentricities without walking the graph.
+     * vertices are numbered as create() and createSnapshot().
+     * @return the structure of ladder graph
+     */
+    public LadderStructure getStructure() {
+        return new LadderStructure(numRungs());
+    }
+
+    /**
+     * Return the number of rungs, namely vertical edges
+     */
+    private int numRungs() {
         // make sure that the number of vertex is even number
         if (numVertices % 2 != 0) {
             numVertices++;
         }
+        return (numVertices - 2) / 2 + 1;
+    }
 
-        // create all vertices
-        ArrayList<V> vList = new ArrayList<V>();
-        for(int j = 0; j < numVertices ; j++) vList.add(vertexFactory.create());
-
-        // add first two vertices and edges
-        graph.addVertex(vList.get(0));
-        graph.addVertex(vList.get(1));
-        graph.addEdge(edgeFactory.create(), vList.get(0), vList.get(1));
-
-        // add other vertices and edges like this
-        //     - v
-        // {G}   |
-        //     - v
-        int nodeIndex = 1;
-        int ladderLength = (numVertices - 2) /2 ;
-        for(int j = 0; j < ladderLength ; j++){
-            graph.addVertex(vList.get(++nodeIndex));
-            graph.addEdge(edgeFactory.create(), vList.get(nodeIndex-2), vList.get(nodeIndex));
-
-            graph.addVertex(vList.get(++nodeIndex));
-            graph.addEdge(edgeFactory.create(), vList.get(nodeIndex-2), vList.get(nodeIndex));
-            graph.addEdge(edgeFactory.create(), vList.get(nodeIndex-1), vList.get(nodeIndex));
-        }
+    /**
+     * Return the generator of edges, where the j-th unit adds the j-th rung and edges to it
+     */
+    private EdgeBlocks.Block rungs() {
+        return new EdgeBlocks.Block() {
+            @Override
+            public void generate(int block, int from, int to, EdgeSink sink) {
+                for (int j = from; j < to; j++) {
+                    // add first two vertices and edges
+                    if (j == 0) {
+                        sink.add(0, 1);
+                        continue;
+                    }
 
-        return graph;
+                    // add other vertices and edges like this
+                    //     - v
+                    // {G}   |
+                    //     - v
+                    int nodeIndex = 2 * j;
+                    sink.add(nodeIndex - 2, nodeIndex);
+                    sink.add(nodeIndex - 1, nodeIndex + 1);
+                    sink.add(nodeIndex, nodeIndex + 1);
+                }
+            }
+        };
     }
 }
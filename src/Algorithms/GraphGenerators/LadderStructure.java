@@ -0,0 +1,103 @@
+package Algorithms.GraphGenerators;
+
+/**
+ * The structure of ladder graph, whose vertices are numbered by rungs as LadderGraphGenerator.
+ *
+ * 0 - 2 - 4 -
+ * |   |   |
+ * 1 - 3 - 5 -
+ *
+ * The eccentricity of a vertex is the distance to the other side of the farthest end.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class LadderStructure implements GraphStructure {
+
+    private final int numRungs;
+
+    /**
+     * Create a new instance
+     * @param numRungs the number of rungs, namely vertical edges
+     */
+    LadderStructure(int numRungs) {
+        this.numRungs = numRungs;
+    }
+
+    /**
+     * Return the number of rungs, namely vertical edges
+     * @return the number of rungs
+     */
+    public int getNumRungs() {
+        return numRungs;
+    }
+
+    /**
+     * Return the number of vertices
+     * @return the number of vertices
+     */
+    @Override
+    public int numVertices() {
+        return 2 * numRungs;
+    }
+
+    /**
+     * Return the number of edges, which is one rung for each rung and two rails between rungs
+     * @return the number of edges
+     */
+    @Override
+    public int numEdges() {
+        return 3 * numRungs - 2;
+    }
+
+    /**
+     * Return whether two vertices are joined by a rung or by a rail
+     * @param u the index of a vertex
+     * @param v the index of another vertex
+     * @return true if the vertices are adjacent
+     */
+    @Override
+    public boolean isAdjacent(int u, int v) {
+        if (u / 2 == v / 2) {
+            return u != v;
+        }
+        return u % 2 == v % 2 && Math.abs(u / 2 - v / 2) == 1;
+    }
+
+    /**
+     * Return the degree of the vertex, which is 3 except at both ends
+     * @param v the index of a vertex
+     * @return the degree of the vertex
+     */
+    @Override
+    public int degree(int v) {
+        int rung = v / 2;
+        int degree = 3;
+        if (rung == 0) {
+            degree--;
+        }
+        if (rung == numRungs - 1) {
+            degree--;
+        }
+        return degree;
+    }
+
+    /**
+     * Return the eccentricity of the vertex, which is the distance to the other side of the farthest end
+     * @param v the index of a vertex
+     * @return the eccentricity of the vertex
+     */
+    @Override
+    public int eccentricity(int v) {
+        int rung = v / 2;
+        return Math.max(rung, numRungs - 1 - rung) + 1;
+    }
+
+    /**
+     * Return the radius, which is the eccentricity of the middle rung
+     * @return the radius
+     */
+    @Override
+    public int radius() {
+        return numRungs / 2 + 1;
+    }
+}
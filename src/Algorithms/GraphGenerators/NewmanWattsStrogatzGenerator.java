@@ -1,10 +1,15 @@
 package Algorithms.GraphGenerators;
 
+import Algorithms.Graphs.CSRGraph;
+import Algorithms.Metrics.Metrics;
 import edu.uci.ics.jung.algorithms.generators.GraphGenerator;
 import edu.uci.ics.jung.graph.Graph;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
 
 /**
  * The generator of Newman-watts-strogatz small world graph.
@@ -17,9 +22,14 @@ import java.util.List;
  * Physics Letters A, 263, 341, 1999.
  * http://dx.doi.org/10.1016/S0375-9601(99)00757-4
  *
+ * V. Batagelj and U. Brandes,
+ * Efficient generation of large random networks,
+ * Physical Review E, 71, 036113, 2005.
+ * http://dx.doi.org/10.1103/PhysRevE.71.036113
+ *
  * Created by mitsunobu on 15/09/05.
  */
-public class NewmanWattsStrogatzGenerator<V,E> implements GraphGenerator<V,E>, org.apache.commons.collections15.Factory<Graph<V,E>> {
+public class NewmanWattsStrogatzGenerator<V,E> implements GraphGenerator<V,E>, org.apache.commons.collections15.Factory<Graph<V,E>>, EdgeSource {
 
     private org.apache.commons.collections15.Factory<Graph<V,E>> graphFactory;
     private org.apache.commons.collections15.Factory<V> vertexFactory;
@@ -27,6 +37,7 @@ public class NewmanWattsStrogatzGenerator<V,E> implements GraphGenerator<V,E>, o
     private int numVertices;
     private int k;
     private double p;
+    private Long seed;
 
     /**
      * Create a new instance of the generator
@@ -54,49 +65,228 @@ public class NewmanWattsStrogatzGenerator<V,E> implements GraphGenerator<V,E>, o
         this.p = p;
     }
 
+    /**
+     * Create a new instance of the generator, which generates the same graph for the same seed
+     * @param graphFactory the factory to use to generate the graph
+     * @param vertexFactory the factory to use to create vertex
+     * @param edgeFactory the factory to use to create edge
+     * @param numVertices the number of vertices for the generated graph
+     * @param k each node is connected to k nearest neighbors in ring topology
+     * @param p the probability of adding a new edge for each edge
+     * @param seed the seed of random numbers
+     */
+    public NewmanWattsStrogatzGenerator (org.apache.commons.collections15.Factory<Graph<V,E>> graphFactory,
+                                         org.apache.commons.collections15.Factory<V> vertexFactory,
+                                         org.apache.commons.collections15.Factory<E> edgeFactory,
+                                         int numVertices,
+                                         int k,
+                                         double p,
+                                         long seed) {
+        this(graphFactory, vertexFactory, edgeFactory, numVertices, k, p);
+        this.seed = seed;
+    }
+
     /**
      * Generate Newman-watts-strogatz small world graph
      * @return Newman-watts-strogatz small world graph
      */
     @Override
     public Graph<V,E> create() {
-        Graph<V,E> graph = graphFactory.create();
-        List<V> vList = new ArrayList<V>();
+        return create(null);
+    }
 
-        // create n vertices
+    /**
+     * Generate Newman-watts-strogatz small world graph, whose edges are generated in parallel.
+     * The generated graph is the same as create() for the same seed, whatever the executor is.
+     * @param executor the executor to generate edges. edges are generated sequentially if null.
+     * @return Newman-watts-strogatz small world graph
+     */
+    public Graph<V,E> create(ExecutorService executor) {
+        EdgeList edges;
+        Metrics.Phase phase = Metrics.start(getClass(), "createEdgeList");
+        try {
+            edges = createEdgeList(executor);
+        } finally {
+            phase.close();
+        }
+        Metrics.count("generator.edges", edges.size());
+
+        phase = Metrics.start(getClass(), "addTo");
+        try {
+            Graph<V,E> graph = graphFactory.create();
+            List<V> vList = createVertices();
+
+            edges.addTo(graph, vList, edgeFactory);
+            return graph;
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * create Newman-watts-strogatz small world graph directly as a snapshot, without creating the graph through jung.
+     * vertices and edges are created in the same order as create(), and edges are undirected.
+     * @param executor the executor to generate edges. edges are generated sequentially if null.
+     * @return the snapshot of Newman-watts-strogatz small world graph
+     */
+    public CSRGraph<V,E> createSnapshot(ExecutorService executor) {
+        EdgeList edges;
+        Metrics.Phase phase = Metrics.start(getClass(), "createEdgeList");
+        try {
+            edges = createEdgeList(executor);
+        } finally {
+            phase.close();
+        }
+        Metrics.count("generator.edges", edges.size());
+
+        phase = Metrics.start(getClass(), "toSnapshot");
+        try {
+            List<V> vList = createVertices();
+            return edges.toSnapshot(vList, edgeFactory);
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * create n vertices in order of their indices
+     */
+    private List<V> createVertices() {
+        List<V> vList = new ArrayList<V>(numVertices);
         for(int i = 0; i < numVertices; i++) {
             vList.add(vertexFactory.create());
-            graph.addVertex(vList.get(i));
         }
+        return vList;
+    }
 
+    /**
+     * Generate the list of edges of Newman-watts-strogatz small world graph, whose vertices are numbered as create()
+     *
+     * Vertices are split into fixed blocks, and each block draws random numbers from its own stream
+     * split from the seed in order. Therefore, the list is the same for the same seed, whatever the executor is.
+     *
+     * @param executor the executor to generate edges. edges are generated sequentially if null.
+     * @return the list of edges
+     */
+    public EdgeList createEdgeList(ExecutorService executor) {
         // create a ring over k nodes
-        for (int i = 0; i < numVertices; i++) {
+        EdgeList ring = EdgeBlocks.generate(numVertices, executor, new EdgeBlocks.Block() {
+            @Override
+            public void generate(int block, int from, int to, EdgeSink sink) {
+                addRing(from, to, sink);
+            }
+        });
+
+        // add new edges with probability p
+        SplittableRandom root = seed != null ? new SplittableRandom(seed) : new SplittableRandom();
+        final SplittableRandom[] streams = new SplittableRandom[EdgeBlocks.numBlocks(numVertices)];
+        for (int b = 0; b < streams.length; b++) {
+            streams[b] = root.split();
+        }
+        EdgeList shortcuts = EdgeBlocks.generate(numVertices, executor, new EdgeBlocks.Block() {
+            @Override
+            public void generate(int block, int from, int to, EdgeSink sink) {
+                addShortcuts(from, to, streams[block], sink);
+            }
+        });
+
+        return EdgeList.concat(Arrays.asList(ring, shortcuts));
+    }
+
+    /**
+     * Emit edges of Newman-watts-strogatz small world graph to the sink one by one, without creating the graph.
+     * Vertices are numbered as create(), and the edges are the same as create() for the same seed.
+     * Random number generators are split block by block, so that only O(k) memory is used.
+     * @param sink the sink which receives edges
+     */
+    @Override
+    public void emit(EdgeSink sink) {
+        int numBlocks = EdgeBlocks.numBlocks(numVertices);
+        for (int b = 0; b < numBlocks; b++) {
+            addRing(b * EdgeBlocks.BLOCK_SIZE, Math.min(numVertices, (b + 1) * EdgeBlocks.BLOCK_SIZE), sink);
+        }
+        SplittableRandom root = seed != null ? new SplittableRandom(seed) : new SplittableRandom();
+        for (int b = 0; b < numBlocks; b++) {
+            SplittableRandom random = root.split();
+            addShortcuts(b * EdgeBlocks.BLOCK_SIZE, Math.min(numVertices, (b + 1) * EdgeBlocks.BLOCK_SIZE), random, sink);
+        }
+    }
+
+    /**
+     * Return the number of vertices for the generated graph
+     * @return the number of vertices
+     */
+    @Override
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Add edges of the ring from v(from) to v(to - 1).
+     * Each edge of the ring is added once, from v(i) to v(i+j).
+     */
+    private void addRing(int from, int to, EdgeSink sink) {
+        for (int i = from; i < to; i++) {
             for(int j = 1; j <= k/2; j++) {
-                graph.addEdge(edgeFactory.create(), vList.get(i), vList.get((i+j)%numVertices));
-                graph.addEdge(edgeFactory.create(), vList.get(i), vList.get((i-j+numVertices)%numVertices));
+                sink.add(i, (i+j)%numVertices);
             }
         }
+    }
 
-        // add new edges with probability p
-        //
-        // v(i) already connects to v(i+1), v(i+2), ..., v(i + k/2). (when making cycle)
-        // therefore, v(i) try to add edges between v(i) and from v(i + k/2 + 1) to v(numVertices).
-        //
-        // however, when i is small number, v(i) already connects to v(numVertices) or v(bigNumber).
-        // to eliminate letting these combination try adding edges,
-        // if j == (numVertices - k/2 + i), then break and go to next vertex.
-        for (int i = 0; i < numVertices; i++) {
-            for(int j = i + k/2 + 1; j < numVertices; j++) {
-                if(j == (numVertices - k/2 + i)) {
-                    break;
-                }
-                double random = Math.random();
-                if (0 <= random && random <= p) {
-                    graph.addEdge(edgeFactory.create(), vList.get(i), vList.get(j));
-                }
+    /**
+     * Add new edges with probability p from v(from) to v(to - 1)
+     *
+     * v(i) already connects to v(i+1), v(i+2), ..., v(i + k/2). (when making cycle)
+     * therefore, v(i) try to add edges between v(i) and from v(i + k/2 + 1) to v(numVertices).
+     *
+     * however, when i is small number, v(i) already connects to v(numVertices) or v(bigNumber).
+     * to eliminate letting these combination try adding edges,
+     * v(i) tries only until v(numVertices - k/2 + i - 1).
+     *
+     * instead of drawing a random number for each pair, the number of pairs to skip until the next edge
+     * is drawn from the geometric distribution, so that the cost scales with the number of added edges.
+     */
+    private void addShortcuts(int from, int to, SplittableRandom random, EdgeSink sink) {
+        int i = from;
+        long skip = nextSkip(random);
+        while (i < to) {
+            long candidates = numCandidates(i);
+            if (skip >= candidates) {
+                skip -= candidates;
+                i++;
+                continue;
             }
+            sink.add(i, (int) (i + k/2 + 1 + skip));
+            long next = nextSkip(random);
+            skip = next < Long.MAX_VALUE - skip - 1 ? skip + 1 + next : Long.MAX_VALUE;
         }
+    }
+
+    /**
+     * Return the number of vertices which v(i) tries to connect in the shortcut phase
+     * @param i the index of the vertex
+     * @return the number of candidates
+     */
+    private long numCandidates(int i) {
+        int first = i + k/2 + 1;
+        int last = Math.min(numVertices - 1, numVertices - k/2 + i - 1);
+        return Math.max(0, last - first + 1);
+    }
 
-        return graph;
+    /**
+     * Return the number of candidates skipped until the next added edge,
+     * which follows the geometric distribution with the probability p
+     * @param random the random number generator
+     * @return the number of skipped candidates
+     */
+    private long nextSkip(SplittableRandom random) {
+        if (p >= 1) {
+            return 0;
+        }
+        if (p <= 0) {
+            return Long.MAX_VALUE;
+        }
+        double skip = Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+        return skip >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) skip;
     }
 }
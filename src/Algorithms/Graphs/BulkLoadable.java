@@ -0,0 +1,27 @@
+package Algorithms.Graphs;
+
+import java.util.List;
+
+/**
+ * An interface for graphs which can load many vertices and edges at once.
+ *
+ * Edges are given as primitive arrays of vertex indices, so that a graph can size its maps up front and
+ * insert each edge without the lookups and checks of addEdge().
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public interface BulkLoadable<V,E> {
+
+    /**
+     * Add all vertices and edges, which gives the same graph as adding the vertices in order by addVertex()
+     * and then adding the edges in order by addEdge().
+     * An edge which joins the same pair of vertices as an earlier edge is dropped, as addEdge() refuses it.
+     * @param vertices the list of vertices, which maps each index to its vertex
+     * @param sources the index of the source vertex of each edge
+     * @param targets the index of the target vertex of each edge
+     * @param numEdges the number of edges, which is at most the length of the arrays
+     * @param edgeFactory the factory to use to create edge, which is called once for each edge in order
+     */
+    void bulkLoad(List<V> vertices, int[] sources, int[] targets, int numEdges,
+                  org.apache.commons.collections15.Factory<E> edgeFactory);
+}
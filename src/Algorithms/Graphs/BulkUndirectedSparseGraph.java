@@ -0,0 +1,124 @@
+package Algorithms.Graphs;
+
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseGraph;
+import edu.uci.ics.jung.graph.util.Pair;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An UndirectedSparseGraph which can load many vertices and edges at once.
+ *
+ * The graph is an UndirectedSparseGraph in every other respect, and it can be edited as usual after loading.
+ *
+ *
+ * Notes
+ *
+ * addEdge() checks the endpoints and looks up the edge, its endpoints and the existing edge between them,
+ * and the maps of the graph are resized again and again while they grow.
+ * bulkLoad() counts the degree of each vertex first, creates every map with its final capacity,
+ * and then inserts each edge with two lookups for a refused edge and three puts.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class BulkUndirectedSparseGraph<V,E> extends UndirectedSparseGraph<V,E> implements BulkLoadable<V,E> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Create a new empty graph
+     */
+    public BulkUndirectedSparseGraph() {
+        super();
+    }
+
+    /**
+     * Return the factory of empty graphs, which generators can use to load edges at once
+     * @return the factory of empty graphs
+     */
+    public static <V,E> org.apache.commons.collections15.Factory<Graph<V,E>> getBulkFactory() {
+        return new org.apache.commons.collections15.Factory<Graph<V,E>>() {
+            @Override
+            public Graph<V,E> create() {
+                return new BulkUndirectedSparseGraph<V,E>();
+            }
+        };
+    }
+
+    /**
+     * Add all vertices and edges at once, in the same way as addVertex() and addEdge()
+     * @param vertices the list of vertices, which maps each index to its vertex
+     * @param sources the index of the source vertex of each edge
+     * @param targets the index of the target vertex of each edge
+     * @param numEdges the number of edges, which is at most the length of the arrays
+     * @param edgeFactory the factory to use to create edge, which is called once for each edge in order
+     * @throws IllegalArgumentException if an edge is already in the graph with other endpoints, as addEdge()
+     */
+    @Override
+    public void bulkLoad(List<V> vertices, int[] sources, int[] targets, int numEdges,
+                         org.apache.commons.collections15.Factory<E> edgeFactory) {
+        int n = vertices.size();
+
+        // count the degree of each vertex, where a self loop is counted once as in the adjacency map
+        int[] degrees = new int[n];
+        for (int i = 0; i < numEdges; i++) {
+            degrees[sources[i]]++;
+            if (sources[i] != targets[i]) {
+                degrees[targets[i]]++;
+            }
+        }
+
+        // size the maps up front, unless the graph already has vertices or edges
+        if (this.vertices.isEmpty()) {
+            this.vertices = new HashMap<V, Map<V,E>>(capacity(n));
+        }
+        if (this.edges.isEmpty()) {
+            this.edges = new HashMap<E, Pair<V>>(capacity(numEdges));
+        }
+        List<Map<V,E>> adjacency = new ArrayList<Map<V,E>>(n);
+        for (int i = 0; i < n; i++) {
+            V v = vertices.get(i);
+            Map<V,E> neighbors = this.vertices.get(v);
+            if (neighbors == null) {
+                neighbors = new HashMap<V,E>(capacity(degrees[i]));
+                this.vertices.put(v, neighbors);
+            }
+            adjacency.add(neighbors);
+        }
+
+        // insert edges
+        for (int i = 0; i < numEdges; i++) {
+            E e = edgeFactory.create();
+            V source = vertices.get(sources[i]);
+            V target = vertices.get(targets[i]);
+            Pair<V> endpoints = new Pair<V>(source, target);
+            Pair<V> existing = this.edges.get(e);
+            if (existing != null) {
+                // addEdge() ignores an edge which is already in the graph with the same endpoints, and refuses it otherwise
+                if (!existing.equals(endpoints)) {
+                    throw new IllegalArgumentException("edge " + e + " already exists in this graph with endpoints "
+                            + existing + " and cannot be added with endpoints " + endpoints);
+                }
+                continue;
+            }
+            Map<V,E> sourceNeighbors = adjacency.get(sources[i]);
+            if (sourceNeighbors.containsKey(target)) {
+                // addEdge() ignores a parallel edge
+                continue;
+            }
+            this.edges.put(e, endpoints);
+            sourceNeighbors.put(target, e);
+            adjacency.get(targets[i]).put(source, e);
+        }
+    }
+
+    /**
+     * Return the initial capacity of HashMap which holds the number of entries without resizing
+     */
+    private static int capacity(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+}
@@ -0,0 +1,283 @@
+package Algorithms.Graphs;
+
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.util.EdgeType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of a given graph in the compressed sparse row (CSR) form.
+ *
+ * Each vertex is numbered from 0 to numVertices() - 1 in order of graph.getVertices(),
+ * and each edge is numbered from 0 to numEdges() - 1 in order of graph.getEdges().
+ * The successors of vertex v are stored in the arcs from begin(v) to end(v) - 1,
+ * where target(arc) is the index of the successor and edgeId(arc) is the index of the edge.
+ * An undirected edge is stored as two arcs, one for each direction.
+ *
+ * Algorithms can walk the snapshot through int indices without allocating collections or hashing vertices,
+ * and each arc takes only 8 bytes.
+ *
+ *
+ * Notes
+ *
+ * The snapshot does not follow the graph. If graph is edited after creating a snapshot, create a new one.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class CSRGraph<V,E> implements IndexedGraph<V,E> {
+
+    private final List<V> vertices;
+    private final Map<V, Integer> indices;
+    private final List<E> edges;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] edgeIds;
+    private final int[] degrees;
+    private final boolean undirected;
+
+    /**
+     * Create a snapshot of a given graph.
+     * @param graph a given graph
+     */
+    public CSRGraph(Graph<V,E> graph) {
+        // assign an index to each vertex and edge
+        vertices = Collections.unmodifiableList(new ArrayList<V>(graph.getVertices()));
+        edges = Collections.unmodifiableList(new ArrayList<E>(graph.getEdges()));
+        undirected = graph.getEdgeCount(EdgeType.DIRECTED) == 0;
+        int n = vertices.size();
+        indices = new HashMap<V, Integer>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indices.put(vertices.get(i), i);
+        }
+        Map<E, Integer> edgeIndices = new HashMap<E, Integer>(edges.size() * 2);
+        for (int i = 0; i < edges.size(); i++) {
+            edgeIndices.put(edges.get(i), i);
+        }
+
+        // count arcs of each vertex
+        offsets = new int[n + 1];
+        degrees = new int[n];
+        for (int i = 0; i < n; i++) {
+            V v = vertices.get(i);
+            offsets[i + 1] = offsets[i] + graph.getOutEdges(v).size();
+            degrees[i] = graph.degree(v);
+        }
+
+        // fill arcs
+        targets = new int[offsets[n]];
+        edgeIds = new int[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            V v = vertices.get(i);
+            int arc = offsets[i];
+            for (E e: graph.getOutEdges(v)) {
+                targets[arc] = indices.get(graph.getOpposite(v, e));
+                edgeIds[arc] = edgeIndices.get(e);
+                arc++;
+            }
+        }
+    }
+
+    /**
+     * Create a snapshot directly from the list of edges between vertex indices, without creating a graph.
+     * The snapshot is the same as the one of the graph which has the vertices and the edges in order,
+     * except that parallel edges are kept.
+     * @param vertices the list of vertices, which maps each index to its vertex
+     * @param edges the list of edges, which maps each index to its edge
+     * @param sources the index of the source vertex of each edge
+     * @param targets the index of the target vertex of each edge
+     * @param undirected specifies whether edges are undirected or directed
+     */
+    public CSRGraph(List<V> vertices, List<E> edges, int[] sources, int[] targets, boolean undirected) {
+        this.vertices = Collections.unmodifiableList(new ArrayList<V>(vertices));
+        this.edges = Collections.unmodifiableList(new ArrayList<E>(edges));
+        this.undirected = undirected;
+        int n = vertices.size();
+        int m = edges.size();
+        indices = new HashMap<V, Integer>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indices.put(vertices.get(i), i);
+        }
+
+        // count arcs of each vertex, where a self loop has only one arc as in a graph
+        offsets = new int[n + 1];
+        degrees = new int[n];
+        for (int e = 0; e < m; e++) {
+            offsets[sources[e] + 1]++;
+            degrees[sources[e]]++;
+            if (sources[e] != targets[e]) {
+                if (undirected) {
+                    offsets[targets[e] + 1]++;
+                }
+                degrees[targets[e]]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        // fill arcs in order of edges
+        this.targets = new int[offsets[n]];
+        edgeIds = new int[offsets[n]];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            int arc = next[sources[e]]++;
+            this.targets[arc] = targets[e];
+            edgeIds[arc] = e;
+            if (undirected && sources[e] != targets[e]) {
+                arc = next[targets[e]]++;
+                this.targets[arc] = sources[e];
+                edgeIds[arc] = e;
+            }
+        }
+    }
+
+    /**
+     * Return the number of vertices
+     * @return the number of vertices
+     */
+    @Override
+    public int numVertices() {
+        return vertices.size();
+    }
+
+    /**
+     * Return the number of edges
+     * @return the number of edges
+     */
+    @Override
+    public int numEdges() {
+        return edges.size();
+    }
+
+    /**
+     * Return the number of arcs, where an undirected edge is counted twice
+     * @return the number of arcs
+     */
+    @Override
+    public int numArcs() {
+        return targets.length;
+    }
+
+    /**
+     * Return the index of the vertex
+     * @param v a vertex
+     * @return the index of the vertex. return -1 if the vertex is not an element of a given graph.
+     */
+    @Override
+    public int indexOf(V v) {
+        Integer index = indices.get(v);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Return the vertex of the index
+     * @param index the index of a vertex
+     * @return the vertex
+     */
+    @Override
+    public V vertexAt(int index) {
+        return vertices.get(index);
+    }
+
+    /**
+     * Return the edge of the index
+     * @param index the index of an edge
+     * @return the edge
+     */
+    @Override
+    public E edgeAt(int index) {
+        return edges.get(index);
+    }
+
+    /**
+     * Return the list of all vertices in order of their indices
+     * @return the unmodifiable list of vertices
+     */
+    @Override
+    public List<V> getVertices() {
+        return vertices;
+    }
+
+    /**
+     * Return the list of all edges in order of their indices
+     * @return the unmodifiable list of edges
+     */
+    @Override
+    public List<E> getEdges() {
+        return edges;
+    }
+
+    /**
+     * Return the first arc of the vertex
+     * @param v the index of a vertex
+     * @return the first arc of the vertex
+     */
+    @Override
+    public int begin(int v) {
+        return offsets[v];
+    }
+
+    /**
+     * Return the arc next to the last arc of the vertex
+     * @param v the index of a vertex
+     * @return the arc next to the last arc of the vertex
+     */
+    @Override
+    public int end(int v) {
+        return offsets[v + 1];
+    }
+
+    /**
+     * Return the index of the vertex which the arc points to
+     * @param arc an arc
+     * @return the index of the target vertex
+     */
+    @Override
+    public int target(int arc) {
+        return targets[arc];
+    }
+
+    /**
+     * Return the index of the edge which the arc comes from
+     * @param arc an arc
+     * @return the index of the edge
+     */
+    @Override
+    public int edgeId(int arc) {
+        return edgeIds[arc];
+    }
+
+    /**
+     * Return the number of successors of the vertex
+     * @param v the index of a vertex
+     * @return the number of arcs of the vertex
+     */
+    @Override
+    public int outDegree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Return the degree of the vertex in a given graph, which is the same as graph.degree()
+     * @param v the index of a vertex
+     * @return the degree of the vertex
+     */
+    @Override
+    public int degree(int v) {
+        return degrees[v];
+    }
+
+    /**
+     * Return whether a given graph has no directed edge
+     * @return true if every edge is undirected
+     */
+    @Override
+    public boolean isUndirected() {
+        return undirected;
+    }
+}
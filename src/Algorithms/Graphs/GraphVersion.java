@@ -0,0 +1,75 @@
+package Algorithms.Graphs;
+
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.ObservableGraph;
+import edu.uci.ics.jung.graph.event.GraphEvent;
+import edu.uci.ics.jung.graph.event.GraphEventListener;
+
+/**
+ * The modification counter of a given graph.
+ *
+ * If a given graph is an ObservableGraph, the counter is incremented by every event of the graph,
+ * so that results calculated from the graph can be reused while the counter is not changed.
+ * Otherwise, mutations cannot be detected, and isTracked() returns false.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class GraphVersion<V,E> implements GraphEventListener<V,E> {
+
+    private final ObservableGraph<V,E> graph;
+    private volatile long version;
+
+    /**
+     * Create a new counter of a given graph, and start listening to it if possible.
+     * @param graph a given graph
+     */
+    public GraphVersion(Graph<V,E> graph) {
+        if (graph instanceof ObservableGraph) {
+            this.graph = (ObservableGraph<V,E>) graph;
+            this.graph.addGraphEventListener(this);
+        } else {
+            this.graph = null;
+        }
+    }
+
+    /**
+     * Return whether mutations of a given graph can be detected
+     * @return true if a given graph is an ObservableGraph
+     */
+    public boolean isTracked() {
+        return graph != null;
+    }
+
+    /**
+     * Return the current version, which is changed whenever a given graph is edited
+     * @return the current version
+     */
+    public long get() {
+        return version;
+    }
+
+    /**
+     * Change the version, as if a given graph was edited
+     */
+    public void increment() {
+        version++;
+    }
+
+    /**
+     * Stop listening to a given graph
+     */
+    public void dispose() {
+        if (graph != null) {
+            graph.removeGraphEventListener(this);
+        }
+    }
+
+    /**
+     * Change the version by an event of a given graph
+     * @param event the event of a given graph
+     */
+    @Override
+    public void handleGraphEvent(GraphEvent<V,E> event) {
+        version++;
+    }
+}
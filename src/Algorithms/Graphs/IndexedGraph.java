@@ -0,0 +1,118 @@
+package Algorithms.Graphs;
+
+import java.util.List;
+
+/**
+ * An immutable graph whose vertices, edges and arcs are numbered by int indices.
+ *
+ * Each vertex is numbered from 0 to numVertices() - 1, and each edge is numbered from 0 to numEdges() - 1.
+ * The successors of vertex v are stored in the arcs from begin(v) to end(v) - 1,
+ * where target(arc) is the index of the successor and edgeId(arc) is the index of the edge.
+ * An undirected edge is stored as two arcs, one for each direction.
+ *
+ * Tree generators and centrality calculators walk an indexed graph instead of a given graph,
+ * so that they work on both a snapshot in memory (CSRGraph) and a graph mapped from a file (MappedGraph).
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public interface IndexedGraph<V,E> {
+
+    /**
+     * Return the number of vertices
+     * @return the number of vertices
+     */
+    int numVertices();
+
+    /**
+     * Return the number of edges
+     * @return the number of edges
+     */
+    int numEdges();
+
+    /**
+     * Return the number of arcs, where an undirected edge is counted twice
+     * @return the number of arcs
+     */
+    int numArcs();
+
+    /**
+     * Return the index of the vertex
+     * @param v a vertex
+     * @return the index of the vertex. return -1 if the vertex is not an element of the graph.
+     */
+    int indexOf(V v);
+
+    /**
+     * Return the vertex of the index
+     * @param index the index of a vertex
+     * @return the vertex
+     */
+    V vertexAt(int index);
+
+    /**
+     * Return the edge of the index
+     * @param index the index of an edge
+     * @return the edge
+     */
+    E edgeAt(int index);
+
+    /**
+     * Return the list of all vertices in order of their indices
+     * @return the unmodifiable list of vertices
+     */
+    List<V> getVertices();
+
+    /**
+     * Return the list of all edges in order of their indices
+     * @return the unmodifiable list of edges
+     */
+    List<E> getEdges();
+
+    /**
+     * Return the first arc of the vertex
+     * @param v the index of a vertex
+     * @return the first arc of the vertex
+     */
+    int begin(int v);
+
+    /**
+     * Return the arc next to the last arc of the vertex
+     * @param v the index of a vertex
+     * @return the arc next to the last arc of the vertex
+     */
+    int end(int v);
+
+    /**
+     * Return the index of the vertex which the arc points to
+     * @param arc an arc
+     * @return the index of the target vertex
+     */
+    int target(int arc);
+
+    /**
+     * Return the index of the edge which the arc comes from
+     * @param arc an arc
+     * @return the index of the edge
+     */
+    int edgeId(int arc);
+
+    /**
+     * Return the number of successors of the vertex
+     * @param v the index of a vertex
+     * @return the number of arcs of the vertex
+     */
+    int outDegree(int v);
+
+    /**
+     * Return the degree of the vertex, which counts both incoming and outgoing edges
+     * @param v the index of a vertex
+     * @return the degree of the vertex
+     */
+    int degree(int v);
+
+    /**
+     * Return whether the graph has no directed edge
+     * @return true if every edge is undirected
+     */
+    boolean isUndirected();
+}
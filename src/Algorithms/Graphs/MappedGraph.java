@@ -0,0 +1,269 @@
+package Algorithms.Graphs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * An immutable graph which is mapped from a file in the binary CSR format.
+ *
+ * The file is mapped into memory by FileChannel.map, and nothing is read or copied when opening it.
+ * Pages of the file are loaded by the operating system when algorithms walk the arcs,
+ * so a graph bigger than the heap can be opened at once.
+ * Each vertex and edge is represented by its index, namely vertexAt(i) and edgeAt(i) return i.
+ *
+ *
+ * Notes
+ *
+ * The format consists of a header and four sections of little-endian ints, which are written by MappedGraphWriter.
+ *
+ *  header   : magic number, version, flags, the number of vertices, edges and arcs, and 2 reserved ints
+ *  offsets  : the first arc of each vertex, and the number of arcs (numVertices + 1 ints)
+ *  degrees  : the degree of each vertex (numVertices ints)
+ *  targets  : the target vertex of each arc (numArcs ints)
+ *  edge ids : the edge of each arc (numArcs ints)
+ *
+ * The only flag is 1, which means that every edge is undirected.
+ * Targets are stored as plain ints instead of variable-length ints, since algorithms access arcs by their indices.
+ *
+ * The mapping is released when the instance is garbage collected.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class MappedGraph implements IndexedGraph<Integer,Integer> {
+
+    static final int MAGIC = 0x47525343;
+    static final int VERSION = 1;
+    static final int FLAG_UNDIRECTED = 1;
+    static final int HEADER_BYTES = 32;
+
+    private final int numVertices;
+    private final int numEdges;
+    private final int numArcs;
+    private final boolean undirected;
+    private final MappedInts offsets;
+    private final MappedInts degrees;
+    private final MappedInts targets;
+    private final MappedInts edgeIds;
+    private final List<Integer> vertices;
+    private final List<Integer> edges;
+
+    /**
+     * Open a graph by mapping a given file.
+     * @param path the path of a given file
+     * @throws IOException if the file cannot be read, or it is not in the binary CSR format
+     */
+    public MappedGraph(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("too short for a graph file: " + path);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("not a graph file: " + path);
+            }
+            undirected = (header.getInt(8) & FLAG_UNDIRECTED) != 0;
+            numVertices = header.getInt(12);
+            numEdges = header.getInt(16);
+            numArcs = header.getInt(20);
+            if (channel.size() != fileSize(numVertices, numArcs)) {
+                throw new IOException("broken graph file: " + path);
+            }
+
+            long position = HEADER_BYTES;
+            offsets = new MappedInts(channel, FileChannel.MapMode.READ_ONLY, position, numVertices + 1);
+            position += 4L * (numVertices + 1);
+            degrees = new MappedInts(channel, FileChannel.MapMode.READ_ONLY, position, numVertices);
+            position += 4L * numVertices;
+            targets = new MappedInts(channel, FileChannel.MapMode.READ_ONLY, position, numArcs);
+            position += 4L * numArcs;
+            edgeIds = new MappedInts(channel, FileChannel.MapMode.READ_ONLY, position, numArcs);
+        }
+        vertices = new Indices(numVertices);
+        edges = new Indices(numEdges);
+    }
+
+    /**
+     * Return the size of a file in bytes
+     * @param numVertices the number of vertices
+     * @param numArcs the number of arcs
+     * @return the size of the file
+     */
+    static long fileSize(int numVertices, int numArcs) {
+        return HEADER_BYTES + 4L * (numVertices + 1) + 4L * numVertices + 8L * numArcs;
+    }
+
+    /**
+     * Return the number of vertices
+     * @return the number of vertices
+     */
+    @Override
+    public int numVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Return the number of edges
+     * @return the number of edges
+     */
+    @Override
+    public int numEdges() {
+        return numEdges;
+    }
+
+    /**
+     * Return the number of arcs, where an undirected edge is counted twice
+     * @return the number of arcs
+     */
+    @Override
+    public int numArcs() {
+        return numArcs;
+    }
+
+    /**
+     * Return the index of the vertex, which is the vertex itself
+     * @param v a vertex
+     * @return the index of the vertex. return -1 if the vertex is out of range.
+     */
+    @Override
+    public int indexOf(Integer v) {
+        return v != null && v >= 0 && v < numVertices ? v : -1;
+    }
+
+    /**
+     * Return the vertex of the index, which is the index itself
+     * @param index the index of a vertex
+     * @return the vertex
+     */
+    @Override
+    public Integer vertexAt(int index) {
+        return index;
+    }
+
+    /**
+     * Return the edge of the index, which is the index itself
+     * @param index the index of an edge
+     * @return the edge
+     */
+    @Override
+    public Integer edgeAt(int index) {
+        return index;
+    }
+
+    /**
+     * Return the list of all vertices in order of their indices
+     * @return the unmodifiable list of vertices
+     */
+    @Override
+    public List<Integer> getVertices() {
+        return vertices;
+    }
+
+    /**
+     * Return the list of all edges in order of their indices
+     * @return the unmodifiable list of edges
+     */
+    @Override
+    public List<Integer> getEdges() {
+        return edges;
+    }
+
+    /**
+     * Return the first arc of the vertex
+     * @param v the index of a vertex
+     * @return the first arc of the vertex
+     */
+    @Override
+    public int begin(int v) {
+        return offsets.get(v);
+    }
+
+    /**
+     * Return the arc next to the last arc of the vertex
+     * @param v the index of a vertex
+     * @return the arc next to the last arc of the vertex
+     */
+    @Override
+    public int end(int v) {
+        return offsets.get(v + 1);
+    }
+
+    /**
+     * Return the index of the vertex which the arc points to
+     * @param arc an arc
+     * @return the index of the target vertex
+     */
+    @Override
+    public int target(int arc) {
+        return targets.get(arc);
+    }
+
+    /**
+     * Return the index of the edge which the arc comes from
+     * @param arc an arc
+     * @return the index of the edge
+     */
+    @Override
+    public int edgeId(int arc) {
+        return edgeIds.get(arc);
+    }
+
+    /**
+     * Return the number of successors of the vertex
+     * @param v the index of a vertex
+     * @return the number of arcs of the vertex
+     */
+    @Override
+    public int outDegree(int v) {
+        return offsets.get(v + 1) - offsets.get(v);
+    }
+
+    /**
+     * Return the degree of the vertex, which counts both incoming and outgoing edges
+     * @param v the index of a vertex
+     * @return the degree of the vertex
+     */
+    @Override
+    public int degree(int v) {
+        return degrees.get(v);
+    }
+
+    /**
+     * Return whether the graph has no directed edge
+     * @return true if every edge is undirected
+     */
+    @Override
+    public boolean isUndirected() {
+        return undirected;
+    }
+
+    /**
+     * The unmodifiable list of indices from 0 to size - 1, which is not stored anywhere
+     */
+    private static class Indices extends AbstractList<Integer> {
+
+        private final int size;
+
+        Indices(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package Algorithms.Graphs;
+
+import Algorithms.GraphGenerators.EdgeSink;
+import Algorithms.GraphGenerators.EdgeSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The writer of a file in the binary CSR format, which is opened by MappedGraph.
+ *
+ * Edges emitted by a generator are written without creating a graph. The generator is asked to emit its edges twice,
+ * first to count the arcs of each vertex, and then to put each arc at its position in the file.
+ * Therefore, only the offsets of vertices are kept in memory, and the arcs are written through a mapping of the file.
+ *
+ *
+ * Notes
+ *
+ * A generator must emit the same edges in the same order every time.
+ * For example, NewmanWattsStrogatzGenerator has to be created with a seed.
+ *
+ * Vertices and edges of a snapshot are written as their indices.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class MappedGraphWriter {
+
+    private Path path;
+
+    /**
+     * Create a new writer of a given file
+     * @param path the path of a given file, which is overwritten if it exists
+     */
+    public MappedGraphWriter(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Write the edges emitted by a given generator.
+     * The i-th emitted edge gets the index i.
+     * @param source a given generator
+     * @param undirected specifies whether the edges are undirected
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the generator emits a vertex out of range or too many arcs
+     * @throws IllegalStateException if the generator emits different edges in the second time
+     */
+    public void write(final EdgeSource source, final boolean undirected) throws IOException {
+        final int n = source.getNumVertices();
+        final int[] offsets = new int[n + 1];
+        final int[] degrees = new int[n];
+        final long[] counts = new long[2];
+
+        // count arcs and degree of each vertex
+        source.emit(new EdgeSink() {
+            @Override
+            public void add(int s, int t) {
+                if (s < 0 || s >= n || t < 0 || t >= n) {
+                    throw new IllegalArgumentException("vertex out of range: (" + s + ", " + t + ")");
+                }
+                counts[0]++;
+                offsets[s + 1]++;
+                degrees[s]++;
+                counts[1]++;
+                if (s != t) {
+                    degrees[t]++;
+                    if (undirected) {
+                        offsets[t + 1]++;
+                        counts[1]++;
+                    }
+                }
+            }
+        });
+        if (counts[1] > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too many arcs: " + counts[1]);
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        final int numArcs = (int) counts[1];
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Sections sections = new Sections(channel, n, (int) counts[0], numArcs, undirected);
+            for (int v = 0; v <= n; v++) {
+                sections.offsets.put(v, offsets[v]);
+            }
+            for (int v = 0; v < n; v++) {
+                sections.degrees.put(v, degrees[v]);
+            }
+
+            // put each arc after the arcs already put to its vertex
+            final MappedInts limits = sections.offsets;
+            final MappedInts targets = sections.targets;
+            final MappedInts edgeIds = sections.edgeIds;
+            final int[] cursor = offsets;
+            final long[] edge = new long[1];
+            source.emit(new EdgeSink() {
+                @Override
+                public void add(int s, int t) {
+                    put(s, t);
+                    if (undirected && s != t) {
+                        put(t, s);
+                    }
+                    edge[0]++;
+                }
+
+                private void put(int s, int t) {
+                    int arc = cursor[s]++;
+                    if (arc >= limits.get(s + 1)) {
+                        throw new IllegalStateException("the generator emitted different edges");
+                    }
+                    targets.put(arc, t);
+                    edgeIds.put(arc, (int) edge[0]);
+                }
+            });
+            if (edge[0] != counts[0]) {
+                throw new IllegalStateException("the generator emitted different edges");
+            }
+        }
+    }
+
+    /**
+     * Write a snapshot of a graph
+     * @param snapshot a snapshot of a graph
+     * @throws IOException if the file cannot be written
+     */
+    public void write(IndexedGraph<?,?> snapshot) throws IOException {
+        int n = snapshot.numVertices();
+        int numArcs = snapshot.numArcs();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Sections sections = new Sections(channel, n, snapshot.numEdges(), numArcs, snapshot.isUndirected());
+            for (int v = 0; v < n; v++) {
+                sections.offsets.put(v, snapshot.begin(v));
+                sections.degrees.put(v, snapshot.degree(v));
+            }
+            sections.offsets.put(n, numArcs);
+            for (int arc = 0; arc < numArcs; arc++) {
+                sections.targets.put(arc, snapshot.target(arc));
+                sections.edgeIds.put(arc, snapshot.edgeId(arc));
+            }
+        }
+    }
+
+    /**
+     * The header and the mapped sections of a new file
+     */
+    private static class Sections {
+
+        private final MappedInts offsets;
+        private final MappedInts degrees;
+        private final MappedInts targets;
+        private final MappedInts edgeIds;
+
+        Sections(FileChannel channel, int numVertices, int numEdges, int numArcs, boolean undirected) throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(MappedGraph.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MappedGraph.MAGIC);
+            header.putInt(MappedGraph.VERSION);
+            header.putInt(undirected ? MappedGraph.FLAG_UNDIRECTED : 0);
+            header.putInt(numVertices);
+            header.putInt(numEdges);
+            header.putInt(numArcs);
+            header.rewind();
+            channel.write(header, 0);
+
+            // mapping a region beyond the end of the file extends the file
+            long position = MappedGraph.HEADER_BYTES;
+            offsets = new MappedInts(channel, FileChannel.MapMode.READ_WRITE, position, numVertices + 1);
+            position += 4L * (numVertices + 1);
+            degrees = new MappedInts(channel, FileChannel.MapMode.READ_WRITE, position, numVertices);
+            position += 4L * numVertices;
+            targets = new MappedInts(channel, FileChannel.MapMode.READ_WRITE, position, numArcs);
+            position += 4L * numArcs;
+            edgeIds = new MappedInts(channel, FileChannel.MapMode.READ_WRITE, position, numArcs);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package Algorithms.Graphs;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An int array which is mapped from a section of a file.
+ *
+ * A single mapping cannot exceed 2GB, so the section is mapped in chunks of 2^28 ints,
+ * and the chunk of an index is found by shifting the index.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+final class MappedInts {
+
+    private static final int SHIFT = 28;
+    private static final int MASK = (1 << SHIFT) - 1;
+
+    private final IntBuffer[] chunks;
+    private final int length;
+
+    /**
+     * Map a section of the file
+     * @param channel the channel of the file
+     * @param mode the mode of the mapping
+     * @param position the position of the section in bytes
+     * @param length the number of ints in the section
+     * @throws IOException if the section cannot be mapped
+     */
+    MappedInts(FileChannel channel, FileChannel.MapMode mode, long position, int length) throws IOException {
+        this.length = length;
+        int numChunks = Math.max(1, (int) (((long) length + MASK) >>> SHIFT));
+        chunks = new IntBuffer[numChunks];
+        for (int c = 0; c < numChunks; c++) {
+            long from = (long) c << SHIFT;
+            long size = Math.min((long) length - from, 1L << SHIFT);
+            chunks[c] = channel.map(mode, position + from * 4, size * 4).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        }
+    }
+
+    /**
+     * Return the number of ints
+     * @return the number of ints
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * Return the int of the index
+     * @param index the index of an int
+     * @return the int of the index
+     */
+    int get(int index) {
+        return chunks[index >>> SHIFT].get(index & MASK);
+    }
+
+    /**
+     * Replace the int of the index
+     * @param index the index of an int
+     * @param value the new int
+     */
+    void put(int index, int value) {
+        chunks[index >>> SHIFT].put(index & MASK, value);
+    }
+}
@@ -0,0 +1,217 @@
+package Algorithms.Metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The listener which keeps metrics in memory, so that they can be read and asserted on.
+ *
+ * Counters are summed by LongAdder, and samples of each distribution and each phase are summarized
+ * by their count, total, minimum and maximum. All methods are thread-safe.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class InMemoryMetricsListener implements MetricsListener {
+
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<String, LongAdder>();
+    private final ConcurrentMap<String, Summary> records = new ConcurrentHashMap<String, Summary>();
+    private final ConcurrentMap<String, Summary> timers = new ConcurrentHashMap<String, Summary>();
+
+    @Override
+    public void count(String name, long delta) {
+        LongAdder counter = counters.get(name);
+        if (counter == null) {
+            LongAdder created = new LongAdder();
+            counter = counters.putIfAbsent(name, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        counter.add(delta);
+    }
+
+    @Override
+    public void record(String name, long value) {
+        summary(records, name).add(value);
+    }
+
+    @Override
+    public void time(String name, long nanos) {
+        summary(timers, name).add(nanos);
+    }
+
+    /**
+     * Return the value of the counter
+     * @param name the name of the counter
+     * @return the sum of deltas, or 0 if nothing has been counted
+     */
+    public long getCount(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Return the summary of samples of the distribution
+     * @param name the name of the distribution
+     * @return the copy of the summary, which is empty if nothing has been recorded
+     */
+    public Summary getRecord(String name) {
+        return copy(records.get(name));
+    }
+
+    /**
+     * Return the summary of wall times of the phase in nanoseconds
+     * @param name the name of the phase
+     * @return the copy of the summary, which is empty if the phase has never been measured
+     */
+    public Summary getTimer(String name) {
+        return copy(timers.get(name));
+    }
+
+    /**
+     * Return all counters
+     * @return the sorted map which maps each name to the value of its counter
+     */
+    public Map<String, Long> getCounts() {
+        Map<String, Long> map = new TreeMap<String, Long>();
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            map.put(entry.getKey(), entry.getValue().sum());
+        }
+        return map;
+    }
+
+    /**
+     * Return summaries of all distributions
+     * @return the sorted map which maps each name to the copy of its summary
+     */
+    public Map<String, Summary> getRecords() {
+        return copyAll(records);
+    }
+
+    /**
+     * Return summaries of all phases
+     * @return the sorted map which maps each name to the copy of its summary
+     */
+    public Map<String, Summary> getTimers() {
+        return copyAll(timers);
+    }
+
+    /**
+     * Discard all metrics
+     */
+    public void reset() {
+        counters.clear();
+        records.clear();
+        timers.clear();
+    }
+
+    /**
+     * Return the summary of the name, which is created if missing
+     */
+    private static Summary summary(ConcurrentMap<String, Summary> summaries, String name) {
+        Summary summary = summaries.get(name);
+        if (summary == null) {
+            Summary created = new Summary();
+            summary = summaries.putIfAbsent(name, created);
+            if (summary == null) {
+                summary = created;
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Return the copy of the summary, or an empty one if it is null
+     */
+    private static Summary copy(Summary summary) {
+        Summary copy = new Summary();
+        if (summary != null) {
+            summary.copyTo(copy);
+        }
+        return copy;
+    }
+
+    /**
+     * Return the sorted copy of the summaries
+     */
+    private static Map<String, Summary> copyAll(ConcurrentMap<String, Summary> summaries) {
+        Map<String, Summary> map = new TreeMap<String, Summary>();
+        for (Map.Entry<String, Summary> entry : summaries.entrySet()) {
+            map.put(entry.getKey(), copy(entry.getValue()));
+        }
+        return map;
+    }
+
+    /**
+     * The count, the total, the minimum and the maximum of samples
+     */
+    public static class Summary {
+
+        private long count;
+        private long total;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        /**
+         * Return the number of samples
+         * @return the number of samples
+         */
+        public synchronized long getCount() {
+            return count;
+        }
+
+        /**
+         * Return the sum of samples
+         * @return the sum of samples
+         */
+        public synchronized long getTotal() {
+            return total;
+        }
+
+        /**
+         * Return the minimum sample
+         * @return the minimum sample, or 0 if there is no sample
+         */
+        public synchronized long getMin() {
+            return count == 0 ? 0 : min;
+        }
+
+        /**
+         * Return the maximum sample
+         * @return the maximum sample, or 0 if there is no sample
+         */
+        public synchronized long getMax() {
+            return count == 0 ? 0 : max;
+        }
+
+        /**
+         * Return the mean of samples
+         * @return the mean of samples, or 0 if there is no sample
+         */
+        public synchronized double getMean() {
+            return count == 0 ? 0 : (double) total / count;
+        }
+
+        synchronized void add(long value) {
+            count++;
+            total += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        synchronized void copyTo(Summary copy) {
+            copy.count = count;
+            copy.total = total;
+            copy.min = min;
+            copy.max = max;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "Summary{count=" + count + ", total=" + total + ", min=" + getMin() + ", max=" + getMax() + "}";
+        }
+    }
+}
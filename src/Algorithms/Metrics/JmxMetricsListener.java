@@ -0,0 +1,188 @@
+package Algorithms.Metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The listener which exports metrics as attributes of an MBean.
+ *
+ * Metrics are kept by an InMemoryMetricsListener, and each of them becomes read-only attributes:
+ *  - a counter "name" becomes the attribute "name"
+ *  - a distribution or a phase "name" becomes "name.count", "name.total", "name.min" and "name.max"
+ * Attributes appear as soon as the metric is first reported. The operation "reset" discards all metrics.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class JmxMetricsListener implements MetricsListener {
+
+    private static final String[] FIELDS = {"count", "total", "min", "max"};
+
+    private final InMemoryMetricsListener metrics = new InMemoryMetricsListener();
+    private final ObjectName objectName;
+    private MBeanServer server;
+
+    /**
+     * Create a new instance, which is exported by the name "Algorithms.Metrics:type=Metrics"
+     * @throws JMException if the name is malformed
+     */
+    public JmxMetricsListener() throws JMException {
+        this(new ObjectName("Algorithms.Metrics:type=Metrics"));
+    }
+
+    /**
+     * Create a new instance with a given name
+     * @param objectName the name of the MBean
+     */
+    public JmxMetricsListener(ObjectName objectName) {
+        this.objectName = objectName;
+    }
+
+    @Override
+    public void count(String name, long delta) {
+        metrics.count(name, delta);
+    }
+
+    @Override
+    public void record(String name, long value) {
+        metrics.record(name, value);
+    }
+
+    @Override
+    public void time(String name, long nanos) {
+        metrics.time(name, nanos);
+    }
+
+    /**
+     * Return the metrics kept by the listener
+     * @return the in-memory metrics
+     */
+    public InMemoryMetricsListener getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Register the MBean to the platform MBean server
+     * @throws JMException if the MBean cannot be registered
+     */
+    public synchronized void register() throws JMException {
+        register(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Register the MBean to a given MBean server
+     * @param server the MBean server
+     * @throws JMException if the MBean cannot be registered
+     */
+    public synchronized void register(MBeanServer server) throws JMException {
+        if (this.server != null) {
+            throw new IllegalStateException(objectName + " is already registered");
+        }
+        server.registerMBean(new MetricsMBean(), objectName);
+        this.server = server;
+    }
+
+    /**
+     * Unregister the MBean if it is registered
+     * @throws JMException if the MBean cannot be unregistered
+     */
+    public synchronized void unregister() throws JMException {
+        if (server != null) {
+            server.unregisterMBean(objectName);
+            server = null;
+        }
+    }
+
+    /**
+     * Return the current value of each attribute
+     */
+    private Map<String, Long> attributes() {
+        Map<String, Long> attributes = new TreeMap<String, Long>(metrics.getCounts());
+        List<Map<String, InMemoryMetricsListener.Summary>> summaries =
+                new ArrayList<Map<String, InMemoryMetricsListener.Summary>>();
+        summaries.add(metrics.getRecords());
+        summaries.add(metrics.getTimers());
+        for (Map<String, InMemoryMetricsListener.Summary> map : summaries) {
+            for (Map.Entry<String, InMemoryMetricsListener.Summary> entry : map.entrySet()) {
+                InMemoryMetricsListener.Summary summary = entry.getValue();
+                long[] values = {summary.getCount(), summary.getTotal(), summary.getMin(), summary.getMax()};
+                for (int i = 0; i < FIELDS.length; i++) {
+                    attributes.put(entry.getKey() + "." + FIELDS[i], values[i]);
+                }
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * The MBean whose attributes are the current metrics
+     */
+    private class MetricsMBean implements DynamicMBean {
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Long value = attributes().get(attribute);
+            if (value == null) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return value;
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] names) {
+            Map<String, Long> attributes = attributes();
+            AttributeList list = new AttributeList();
+            for (String name : names) {
+                if (attributes.containsKey(name)) {
+                    list.add(new Attribute(name, attributes.get(name)));
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException(attribute.getName() + " is read-only");
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+            if (!"reset".equals(actionName)) {
+                throw new ReflectionException(new NoSuchMethodException(actionName));
+            }
+            metrics.reset();
+            return null;
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> infos = new ArrayList<MBeanAttributeInfo>();
+            for (String name : attributes().keySet()) {
+                infos.add(new MBeanAttributeInfo(name, "long", name, true, false, false));
+            }
+            MBeanOperationInfo reset = new MBeanOperationInfo("reset", "discard all metrics",
+                    null, "void", MBeanOperationInfo.ACTION);
+            return new MBeanInfo(JmxMetricsListener.class.getName(), "metrics of algorithms",
+                    infos.toArray(new MBeanAttributeInfo[infos.size()]), null,
+                    new MBeanOperationInfo[] {reset}, null);
+        }
+    }
+}
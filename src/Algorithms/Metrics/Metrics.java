@@ -0,0 +1,156 @@
+package Algorithms.Metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The entry point which algorithms report metrics to.
+ *
+ * No listener is set by default, and then every method returns after reading one volatile field,
+ * so that instrumented code runs as if it was not instrumented. Algorithms also check isEnabled() before
+ * computing values which are needed only for metrics.
+ *
+ * A phase measures the wall time of a call, and the bytes allocated by the calling thread during it.
+ * Allocations of pool threads in parallel calculations are not included. The bytes are reported only on JVMs
+ * which support com.sun.management.ThreadMXBean.
+ *
+ *     Metrics.setListener(new InMemoryMetricsListener());
+ *     Metrics.Phase phase = Metrics.start("phase");
+ *     try {
+ *         ...
+ *     } finally {
+ *         phase.close();
+ *     }
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public final class Metrics {
+
+    private static final Phase DISABLED = new Phase(null, null);
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static volatile MetricsListener listener;
+
+    private Metrics() {
+    }
+
+    /**
+     * Set the listener which receives metrics
+     * @param listener the listener, or null to disable metrics
+     */
+    public static void setListener(MetricsListener listener) {
+        Metrics.listener = listener;
+    }
+
+    /**
+     * Return the listener which receives metrics
+     * @return the listener, or null if metrics are disabled
+     */
+    public static MetricsListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Return whether metrics are reported or not
+     * @return true if a listener is set
+     */
+    public static boolean isEnabled() {
+        return listener != null;
+    }
+
+    /**
+     * Add the delta to the counter
+     * @param name the name of the counter
+     * @param delta the amount to add
+     */
+    public static void count(String name, long delta) {
+        MetricsListener listener = Metrics.listener;
+        if (listener != null) {
+            listener.count(name, delta);
+        }
+    }
+
+    /**
+     * Record a sample of the distribution
+     * @param name the name of the distribution
+     * @param value the sample
+     */
+    public static void record(String name, long value) {
+        MetricsListener listener = Metrics.listener;
+        if (listener != null) {
+            listener.record(name, value);
+        }
+    }
+
+    /**
+     * Start measuring a phase, which is reported when it is closed
+     * @param name the name of the phase
+     * @return the phase. a shared phase which does nothing is returned if metrics are disabled.
+     */
+    public static Phase start(String name) {
+        MetricsListener listener = Metrics.listener;
+        return listener == null ? DISABLED : new Phase(listener, name);
+    }
+
+    /**
+     * Start measuring a phase of the class, whose name is the simple name of the class followed by the phase.
+     * The name is created only if metrics are enabled.
+     * @param owner the class which runs the phase. anonymous classes are named after their superclass.
+     * @param phase the name of the phase in the class
+     * @return the phase. a shared phase which does nothing is returned if metrics are disabled.
+     */
+    public static Phase start(Class<?> owner, String phase) {
+        MetricsListener listener = Metrics.listener;
+        if (listener == null) {
+            return DISABLED;
+        }
+        while (owner.getSimpleName().isEmpty() && owner.getSuperclass() != null) {
+            owner = owner.getSuperclass();
+        }
+        return new Phase(listener, owner.getSimpleName() + "." + phase);
+    }
+
+    /**
+     * Return the bytes allocated by the current thread so far
+     * @return the bytes, or -1 if the JVM does not support it
+     */
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * A phase being measured. The wall time is reported by the name of the phase,
+     * and the allocated bytes are reported by the name followed by ".allocatedBytes".
+     */
+    public static final class Phase implements AutoCloseable {
+
+        private final MetricsListener listener;
+        private final String name;
+        private final long startNanos;
+        private final long startBytes;
+
+        private Phase(MetricsListener listener, String name) {
+            this.listener = listener;
+            this.name = name;
+            this.startBytes = listener != null ? allocatedBytes() : -1;
+            this.startNanos = listener != null ? System.nanoTime() : 0;
+        }
+
+        /**
+         * Report the wall time and the allocated bytes since the phase started
+         */
+        @Override
+        public void close() {
+            if (listener == null) {
+                return;
+            }
+            listener.time(name, System.nanoTime() - startNanos);
+            if (startBytes >= 0) {
+                listener.record(name + ".allocatedBytes", allocatedBytes() - startBytes);
+            }
+        }
+    }
+}
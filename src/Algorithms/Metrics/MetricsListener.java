@@ -0,0 +1,32 @@
+package Algorithms.Metrics;
+
+/**
+ * An interface for listeners which receive metrics reported by generators, traversals and centralities.
+ *
+ * Metrics are identified by dotted names such as "BFSTreeGenerator.view" or "bfs.vertices".
+ * Listeners may be called from several threads at once, since parallel calculations report from pool threads.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public interface MetricsListener {
+    /**
+     * add the delta to the counter
+     * @param name the name of the counter
+     * @param delta the amount to add
+     */
+    void count(String name, long delta);
+
+    /**
+     * record a sample of the distribution, such as the size of a frontier or the bytes allocated by a call
+     * @param name the name of the distribution
+     * @param value the sample
+     */
+    void record(String name, long value);
+
+    /**
+     * record the wall time of a phase
+     * @param name the name of the phase
+     * @param nanos the wall time in nanoseconds
+     */
+    void time(String name, long nanos);
+}
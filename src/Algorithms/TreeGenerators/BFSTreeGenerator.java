@@ -1,14 +1,35 @@
 package Algorithms.TreeGenerators;
 
+import Algorithms.Graphs.CSRGraph;
+import Algorithms.Graphs.IndexedGraph;
+import Algorithms.Metrics.Metrics;
 import edu.uci.ics.jung.graph.Graph;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The generator of BFS tree as a subgraph of a given graph.
  *
+ * Besides a tree from a single root, the generator creates
+ *  - a forest from multiple roots, where all roots start at distance 0 and each vertex is attached to its nearest root
+ *  - a spanning forest, where a new BFS starts from each vertex which is not reached by previous ones
+ * in one traversal with shared visited state. Each tree of the forest is a connected component of the result.
+ *
+ * With multiple roots, each vertex is assigned to the root whose distance is the smallest, and ties are broken by
+ * the order of the roots. partition() returns this assignment, namely the Voronoi partition of a given graph.
+ *
+ * Each vertex is expanded to its successors (getOutEdges), both on a given graph and on its snapshot,
+ * so that a directed graph is walked along the direction of its edges and both give the same tree.
+ * For an undirected graph, the successors are all neighbors.
+ *
  *
  * References
  *
@@ -18,11 +39,12 @@ import java.util.Deque;
  *
  * Created by mitsunobu on 15/09/05.
  */
-public class BFSTreeGenerator<V,E> implements TreeGenerator<V,E> {
+public class BFSTreeGenerator<V,E> implements ViewableTreeGenerator<V,E> {
 
     private Graph<V,E> graph;
+    private IndexedGraph<V,E> snapshot;
     private org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory;
-    private V rootVertex;
+    private List<V> rootVertices;
 
     /**
      * Create a new instance of the generator
@@ -33,50 +55,242 @@ public class BFSTreeGenerator<V,E> implements TreeGenerator<V,E> {
     public BFSTreeGenerator(Graph<V,E> graph,
                             org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
                             V rootVertex) {
+        this(graph, treeFactory, Collections.singletonList(rootVertex));
+    }
+
+    /**
+     * Create a new instance of the generator, which starts from multiple roots at once
+     * @param graph a given graph
+     * @param treeFactory the factory to use to generate the forest
+     * @param rootVertices the vertices which are starting points of the algorithm
+     */
+    public BFSTreeGenerator(Graph<V,E> graph,
+                            org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
+                            Collection<V> rootVertices) {
         this.graph = graph;
         this.treeFactory = treeFactory;
-        this.rootVertex = rootVertex;
+        this.rootVertices = new ArrayList<V>(rootVertices);
+    }
+
+    /**
+     * Create a new instance of the generator, which creates a spanning forest covering all vertices
+     * @param graph a given graph
+     * @param treeFactory the factory to use to generate the forest
+     */
+    public BFSTreeGenerator(Graph<V,E> graph,
+                            org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory) {
+        this.graph = graph;
+        this.treeFactory = treeFactory;
+    }
+
+    /**
+     * Create a new instance of the generator, which walks a snapshot of a given graph
+     * @param snapshot a snapshot of a given graph
+     * @param treeFactory the factory to use to generate the tree
+     * @param rootVertex the vertex which is a starting point of the algorithm
+     */
+    public BFSTreeGenerator(IndexedGraph<V,E> snapshot,
+                            org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
+                            V rootVertex) {
+        this(snapshot, treeFactory, Collections.singletonList(rootVertex));
+    }
+
+    /**
+     * Create a new instance of the generator, which walks a snapshot of a given graph from multiple roots at once
+     * @param snapshot a snapshot of a given graph
+     * @param treeFactory the factory to use to generate the forest
+     * @param rootVertices the vertices which are starting points of the algorithm
+     */
+    public BFSTreeGenerator(IndexedGraph<V,E> snapshot,
+                            org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
+                            Collection<V> rootVertices) {
+        this.snapshot = snapshot;
+        this.treeFactory = treeFactory;
+        this.rootVertices = new ArrayList<V>(rootVertices);
+    }
+
+    /**
+     * Create a new instance of the generator, which walks a snapshot of a given graph
+     * and creates a spanning forest covering all vertices
+     * @param snapshot a snapshot of a given graph
+     * @param treeFactory the factory to use to generate the forest
+     */
+    public BFSTreeGenerator(IndexedGraph<V,E> snapshot,
+                            org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory) {
+        this.snapshot = snapshot;
+        this.treeFactory = treeFactory;
     }
 
     /**
      * Create the BFS tree as a subgraph of a given graph
-     * @return the BFS tree
+     *
+     * Visited vertices are tracked in a hash map, so that the tree is created in O(V+E) time.
+     *
+     * @return the BFS tree, or the forest if there are multiple roots
+     * @throws IllegalArgumentException if some root is not a vertex of a given graph
      */
     @Override
     public Graph<V, E> create() {
-        Graph<V, E> tree = treeFactory.create();
+        Metrics.Phase phase = Metrics.start(getClass(), "create");
+        try {
+            Graph<V, E> tree;
+            if (snapshot != null) {
+                tree = view().toGraph();
+            } else {
+                tree = treeFactory.create();
+                walk(tree);
+                Metrics.count("bfs.vertices", tree.getVertexCount());
+            }
+            return tree;
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Walk the snapshot in BFS order without creating the tree.
+     *
+     * A snapshot of a given graph is created if the generator does not have one.
+     * Vertices are visited in order of their depth, and the roots come first.
+     *
+     * @return the parent and the depth of each vertex
+     * @throws IllegalArgumentException if some root is not a vertex of a given graph
+     */
+    @Override
+    public TreeView<V, E> view() {
+        Metrics.Phase phase = Metrics.start(getClass(), "view");
+        try {
+            IndexedGraph<V, E> snapshot = this.snapshot != null ? this.snapshot : new CSRGraph<V, E>(graph);
+            int n = snapshot.numVertices();
+            int[] queue = new int[n];
+            int[] parent = new int[n];
+            int[] parentEdge = new int[n];
+            int[] depth = new int[n];
+            Arrays.fill(parent, -1);
+            Arrays.fill(depth, -1);
+            int head = 0;
+            int tail = 0;
+
+            // every root starts at depth 0, while each root of a spanning forest waits until the previous tree ends
+            int[] roots = rootVertices != null ? Roots.indicesOf(snapshot, rootVertices) : null;
+            int numStarts = roots != null ? roots.length : n;
+            for (int i = 0; i < numStarts; i++) {
+                int start = roots != null ? roots[i] : i;
+                if (depth[start] >= 0) {
+                    continue;
+                }
+                depth[start] = 0;
+                queue[tail++] = start;
+                if (rootVertices == null) {
+                    head = expand(snapshot, queue, parent, parentEdge, depth, head, tail);
+                    tail = head;
+                }
+            }
+            tail = expand(snapshot, queue, parent, parentEdge, depth, head, tail);
+
+            TreeView<V, E> view = new TreeView<V, E>(snapshot, treeFactory, parent, parentEdge, depth, queue, tail);
+            view.report("bfs");
+            return view;
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Assign each vertex to the root of its tree without creating the tree.
+     * With multiple roots, the root of each vertex is the nearest one.
+     * @return the map which maps each reached vertex to its root
+     * @throws IllegalArgumentException if some root is not a vertex of a given graph
+     */
+    public Map<V, V> partition() {
+        if (snapshot == null) {
+            return walk(null);
+        }
 
+        // parents are visited before their children, so the root of each parent is known in order of visits
+        TreeView<V, E> view = view();
+        int[] root = new int[snapshot.numVertices()];
+        Map<V, V> map = new HashMap<V, V>(view.size() * 2);
+        for (int i = 0; i < view.size(); i++) {
+            int v = view.visitAt(i);
+            root[v] = view.parent(v) < 0 ? v : root[view.parent(v)];
+            map.put(snapshot.vertexAt(v), snapshot.vertexAt(root[v]));
+        }
+        return map;
+    }
+
+    /**
+     * Walk a given graph in BFS order, where the map of roots also tracks visited vertices
+     * @param tree the tree to add edges, or null
+     * @return the map which maps each reached vertex to its root
+     */
+    private Map<V, V> walk(Graph<V, E> tree) {
         Deque<V> queue = new ArrayDeque<V>();
-        ArrayList<V> didVisitedNodeArray = new ArrayList<V>();
+        Map<V, V> roots = new HashMap<V, V>();
+        Collection<V> starts = rootVertices != null ? rootVertices : graph.getVertices();
+        if (rootVertices != null) {
+            Roots.check(graph, rootVertices);
+        }
+
+        // every root starts at distance 0, while each root of a spanning forest waits until the previous tree ends
+        for (V start : starts) {
+            if (roots.containsKey(start)) {
+                continue;
+            }
+            roots.put(start, start);
+            if (tree != null) {
+                tree.addVertex(start);
+            }
+            queue.offer(start);
+            if (rootVertices != null) {
+                continue;
+            }
+            expand(tree, queue, roots);
+        }
+        expand(tree, queue, roots);
 
-        tree.addVertex(rootVertex);
-        queue.offer(rootVertex);
+        return roots;
+    }
 
+    /**
+     * Expand the queue until it becomes empty. Each list of out edges is scanned once,
+     * and each edge is taken directly from it
+     */
+    private void expand(Graph<V, E> tree, Deque<V> queue, Map<V, V> roots) {
         while(!queue.isEmpty()){
             V target = queue.poll();
-            V nextVertex = null;
-
-            boolean hasUnvisitedNeighbor = true;
-
-            while(hasUnvisitedNeighbor){
-                hasUnvisitedNeighbor = false;
-                for(V v : graph.getNeighbors(target)){
-                    if(!didVisitedNodeArray.contains(v)){
-                        hasUnvisitedNeighbor = true;
-                        nextVertex = v;
+            V root = roots.get(target);
+            for(E e : graph.getOutEdges(target)){
+                V v = graph.getOpposite(target, e);
+                if(!roots.containsKey(v)){
+                    roots.put(v, root);
+                    if (tree != null) {
+                        tree.addEdge(e, target, v);
                     }
-                }
-                if(hasUnvisitedNeighbor){
-                    tree.addVertex(nextVertex);
-                    didVisitedNodeArray.add(nextVertex);
-                    E e = graph.findEdge(target, nextVertex);
-                    tree.addEdge(e, target, nextVertex);
-                    queue.offer(nextVertex);
+                    queue.offer(v);
                 }
             }
-            didVisitedNodeArray.add(target);
         }
+    }
 
-        return tree;
+    /**
+     * Expand the queue of the snapshot until it becomes empty
+     * @return the tail of the queue
+     */
+    private static int expand(IndexedGraph<?, ?> snapshot, int[] queue, int[] parent, int[] parentEdge, int[] depth,
+                              int head, int tail) {
+        while(head < tail){
+            int target = queue[head++];
+            for(int arc = snapshot.begin(target), end = snapshot.end(target); arc < end; arc++){
+                int v = snapshot.target(arc);
+                if(depth[v] < 0){
+                    depth[v] = depth[target] + 1;
+                    parent[v] = target;
+                    parentEdge[v] = snapshot.edgeId(arc);
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return tail;
     }
 }
@@ -0,0 +1,110 @@
+package Algorithms.TreeGenerators;
+
+import Algorithms.Graphs.IndexedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The result of DFS, which keeps the discovery time, the finish time and the parent of each vertex.
+ *
+ * Each vertex is identified by its index in the snapshot of a given graph.
+ * Times are counted from 0, and each of discovery and finish increments the time by 1.
+ * Vertices which are not reachable from the roots have -1 as their times and parent.
+ * Each root also has -1 as its parent. With multiple roots, times keep counting across the trees.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class DFSOrder<V,E> {
+
+    private final IndexedGraph<V,E> snapshot;
+    private final int[] discovery;
+    private final int[] finish;
+    private final int[] parent;
+
+    /**
+     * Create a new instance
+     * @param snapshot the snapshot which was walked
+     * @param discovery the discovery time of each vertex
+     * @param finish the finish time of each vertex
+     * @param parent the index of the parent of each vertex
+     */
+    DFSOrder(IndexedGraph<V,E> snapshot, int[] discovery, int[] finish, int[] parent) {
+        this.snapshot = snapshot;
+        this.discovery = discovery;
+        this.finish = finish;
+        this.parent = parent;
+    }
+
+    /**
+     * Return the snapshot which was walked, which maps each index to its vertex
+     * @return the snapshot
+     */
+    public IndexedGraph<V,E> getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Return the discovery time of the vertex
+     * @param v the index of a vertex
+     * @return the discovery time, or -1 if the vertex was not visited
+     */
+    public int discovery(int v) {
+        return discovery[v];
+    }
+
+    /**
+     * Return the finish time of the vertex
+     * @param v the index of a vertex
+     * @return the finish time, or -1 if the vertex was not visited
+     */
+    public int finish(int v) {
+        return finish[v];
+    }
+
+    /**
+     * Return the parent of the vertex in the DFS tree
+     * @param v the index of a vertex
+     * @return the index of the parent, or -1 if the vertex is a root or was not visited
+     */
+    public int parent(int v) {
+        return parent[v];
+    }
+
+    /**
+     * Return the visited vertices in order of their discovery
+     * @return the list of visited vertices
+     */
+    public List<V> getPreorder() {
+        return sortBy(discovery);
+    }
+
+    /**
+     * Return the visited vertices in order of their finish
+     * @return the list of visited vertices
+     */
+    public List<V> getPostorder() {
+        return sortBy(finish);
+    }
+
+    /**
+     * Return the visited vertices sorted by the given times, which are distinct and less than 2 * numVertices()
+     */
+    private List<V> sortBy(int[] times) {
+        int[] byTime = new int[2 * times.length];
+        Arrays.fill(byTime, -1);
+        for (int v = 0; v < times.length; v++) {
+            if (times[v] >= 0) {
+                byTime[times[v]] = v;
+            }
+        }
+        List<V> list = new ArrayList<V>();
+        for (int v: byTime) {
+            if (v >= 0) {
+                list.add(snapshot.vertexAt(v));
+            }
+        }
+        return list;
+    }
+}
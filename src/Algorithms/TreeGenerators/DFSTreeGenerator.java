@@ -1,14 +1,33 @@
 package Algorithms.TreeGenerators;
 
+import Algorithms.Graphs.CSRGraph;
+import Algorithms.Graphs.IndexedGraph;
+import Algorithms.Metrics.Metrics;
 import edu.uci.ics.jung.graph.Graph;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
 /**
  * The generator of DFS tree as a subgraph of a given graph.
  *
+ * Besides a tree from a single root, the generator creates
+ *  - a forest from multiple roots, where a new DFS starts from each root which is not reached by previous ones
+ *  - a spanning forest, where a new DFS starts from each vertex which is not reached by previous ones
+ * in one traversal with shared visited state. Each tree of the forest is a connected component of the result.
+ *
+ * Each vertex is expanded to its successors (getOutEdges), both on a given graph and on its snapshot,
+ * so that a directed graph is walked along the direction of its edges and both give the same tree.
+ * For an undirected graph, the successors are all neighbors.
+ *
  *
  * References
  *
@@ -18,11 +37,12 @@ import java.util.Deque;
  *
  * Created by mitsunobu on 15/09/05.
  */
-public class DFSTreeGenerator<V,E> implements TreeGenerator<V,E> {
+public class DFSTreeGenerator<V,E> implements ViewableTreeGenerator<V,E> {
 
     private Graph<V,E> graph;
+    private IndexedGraph<V,E> snapshot;
     private org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory;
-    private V rootVertex;
+    private List<V> rootVertices;
 
     /**
      * Create a new instance of the generator
@@ -33,47 +53,275 @@ public class DFSTreeGenerator<V,E> implements TreeGenerator<V,E> {
     public DFSTreeGenerator(Graph<V,E> graph,
                             org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
                             V rootVertex) {
+        this(graph, treeFactory, Collections.singletonList(rootVertex));
+    }
+
+    /**
+     * Create a new instance of the generator, which starts from each of multiple roots in order
+     * @param graph a given graph
+     * @param treeFactory the factory to use to generate the forest
+     * @param rootVertices the vertices which are starting points of the algorithm
+     */
+    public DFSTreeGenerator(Graph<V,E> graph,
+                            org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
+                            Collection<V> rootVertices) {
         this.graph = graph;
         this.treeFactory = treeFactory;
-        this.rootVertex = rootVertex;
+        this.rootVertices = new ArrayList<V>(rootVertices);
+    }
+
+    /**
+     * Create a new instance of the generator, which creates a spanning forest covering all vertices
+     * @param graph a given graph
+     * @param treeFactory the factory to use to generate the forest
+     */
+    public DFSTreeGenerator(Graph<V,E> graph,
+                            org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory) {
+        this.graph = graph;
+        this.treeFactory = treeFactory;
+    }
+
+    /**
+     * Create a new instance of the generator, which walks a snapshot of a given graph
+     * @param snapshot a snapshot of a given graph
+     * @param treeFactory the factory to use to generate the tree
+     * @param rootVertex the vertex which is a starting point of the algorithm
+     */
+    public DFSTreeGenerator(IndexedGraph<V,E> snapshot,
+                            org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
+                            V rootVertex) {
+        this(snapshot, treeFactory, Collections.singletonList(rootVertex));
+    }
+
+    /**
+     * Create a new instance of the generator, which walks a snapshot of a given graph from each of multiple roots
+     * @param snapshot a snapshot of a given graph
+     * @param treeFactory the factory to use to generate the forest
+     * @param rootVertices the vertices which are starting points of the algorithm
+     */
+    public DFSTreeGenerator(IndexedGraph<V,E> snapshot,
+                            org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
+                            Collection<V> rootVertices) {
+        this.snapshot = snapshot;
+        this.treeFactory = treeFactory;
+        this.rootVertices = new ArrayList<V>(rootVertices);
+    }
+
+    /**
+     * Create a new instance of the generator, which walks a snapshot of a given graph
+     * and creates a spanning forest covering all vertices
+     * @param snapshot a snapshot of a given graph
+     * @param treeFactory the factory to use to generate the forest
+     */
+    public DFSTreeGenerator(IndexedGraph<V,E> snapshot,
+                            org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory) {
+        this.snapshot = snapshot;
+        this.treeFactory = treeFactory;
     }
 
     /**
      * Create the DFS tree as a subgraph of a given graph
-     * @return the DFS tree
+     * @return the DFS tree, or the forest if there are multiple roots
+     * @throws IllegalArgumentException if some root is not a vertex of a given graph
      */
     @Override
     public Graph<V, E> create() {
-        Graph<V, E> tree = treeFactory.create();
+        if (snapshot != null) {
+            return view().toGraph();
+        }
+        Metrics.Phase phase = Metrics.start(getClass(), "create");
+        try {
+            if (rootVertices != null) {
+                Roots.check(graph, rootVertices);
+            }
+            Graph<V, E> tree = treeFactory.create();
 
-        Deque<V> stack = new ArrayDeque<V>();
-        ArrayList<V> didVisitedNodeArray = new ArrayList<V>();
+            // each frame keeps the iterator of the remaining out edges, so that each edge is examined once
+            Deque<Frame<V, E>> stack = new ArrayDeque<Frame<V, E>>();
+            Set<V> visited = new HashSet<V>();
 
-        stack.push(rootVertex);
+            for (V rootVertex : rootVertices != null ? rootVertices : graph.getVertices()) {
+                if (!visited.add(rootVertex)) {
+                    continue;
+                }
+                tree.addVertex(rootVertex);
+                stack.push(new Frame<V, E>(rootVertex, graph.getOutEdges(rootVertex).iterator()));
+                walk(tree, stack, visited);
+            }
 
-        while(!stack.isEmpty()){
-            V target = stack.pop();
-            tree.addVertex(target);
-            didVisitedNodeArray.add(target);
+            Metrics.count("dfs.vertices", tree.getVertexCount());
+            return tree;
+        } finally {
+            phase.close();
+        }
+    }
 
-            boolean hasUnvisitedNeighbor = false;
+    /**
+     * Walk the tree from the root on the stack until the stack becomes empty
+     */
+    private void walk(Graph<V, E> tree, Deque<Frame<V, E>> stack, Set<V> visited) {
+        while(!stack.isEmpty()){
+            Frame<V, E> frame = stack.peek();
             V nextVertex = null;
+            E e = null;
 
-            for(V n : graph.getNeighbors(target)){
-                if(!didVisitedNodeArray.contains(n)){
-                    stack.push(target);
+            while(nextVertex == null && frame.edges.hasNext()){
+                e = frame.edges.next();
+                V n = graph.getOpposite(frame.vertex, e);
+                if(visited.add(n)){
                     nextVertex = n;
-                    hasUnvisitedNeighbor = true;
                 }
             }
 
-            if(hasUnvisitedNeighbor){
-                E e = graph.findEdge(target, nextVertex);
-                tree.addEdge(e, target, nextVertex);
-                stack.push(nextVertex);
+            if(nextVertex == null){
+                stack.pop();
+            } else {
+                tree.addEdge(e, frame.vertex, nextVertex);
+                stack.push(new Frame<V, E>(nextVertex, graph.getOutEdges(nextVertex).iterator()));
             }
         }
+    }
+
+    /**
+     * Walk a given graph in DFS order without creating the tree.
+     *
+     * A snapshot of a given graph is created if the generator does not have one.
+     *
+     * @return the discovery and finish times and the parent of each vertex
+     * @throws IllegalArgumentException if some root is not a vertex of a given graph
+     */
+    public DFSOrder<V, E> order() {
+        IndexedGraph<V, E> snapshot = this.snapshot != null ? this.snapshot : new CSRGraph<V, E>(graph);
+        Walk walk = new Walk(snapshot, starts(snapshot));
+        return new DFSOrder<V, E>(snapshot, walk.discovery, walk.finish, walk.parent);
+    }
+
+    /**
+     * Walk the snapshot in DFS order without creating the tree.
+     *
+     * A snapshot of a given graph is created if the generator does not have one.
+     * Each vertex on the stack keeps the cursor of its next arc, and vertices are visited in order of their discovery.
+     *
+     * @return the parent and the depth of each vertex
+     * @throws IllegalArgumentException if some root is not a vertex of a given graph
+     */
+    @Override
+    public TreeView<V, E> view() {
+        Metrics.Phase phase = Metrics.start(getClass(), "view");
+        try {
+            IndexedGraph<V, E> snapshot = this.snapshot != null ? this.snapshot : new CSRGraph<V, E>(graph);
+            Walk walk = new Walk(snapshot, starts(snapshot));
+            TreeView<V, E> view = new TreeView<V, E>(snapshot, treeFactory,
+                    walk.parent, walk.parentEdge, walk.depth, walk.visits, walk.size);
+            view.report("dfs");
+            return view;
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Return the indices of the vertices where DFS starts in order, which are the roots or all vertices
+     */
+    private int[] starts(IndexedGraph<V, E> snapshot) {
+        if (rootVertices != null) {
+            return Roots.indicesOf(snapshot, rootVertices);
+        }
+        int[] starts = new int[snapshot.numVertices()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = i;
+        }
+        return starts;
+    }
 
-        return tree;
+    /**
+     * One DFS over the snapshot, which starts from each start which is not reached by previous ones.
+     *
+     * The walk records both the times for DFSOrder and the tree for TreeView, so that order() and view()
+     * share the same traversal. Each vertex on the stack keeps the cursor of its next arc.
+     */
+    private static class Walk {
+
+        private final int[] discovery;
+        private final int[] finish;
+        private final int[] parent;
+        private final int[] parentEdge;
+        private final int[] depth;
+        private final int[] visits;
+        private int size;
+
+        /**
+         * Walk the snapshot from the starts in order
+         * @param snapshot the snapshot to walk
+         * @param starts the indices of the vertices where DFS starts
+         */
+        Walk(IndexedGraph<?, ?> snapshot, int[] starts) {
+            int n = snapshot.numVertices();
+            discovery = new int[n];
+            finish = new int[n];
+            parent = new int[n];
+            parentEdge = new int[n];
+            depth = new int[n];
+            visits = new int[n];
+            Arrays.fill(discovery, -1);
+            Arrays.fill(finish, -1);
+            Arrays.fill(parent, -1);
+            Arrays.fill(depth, -1);
+
+            int[] stack = new int[n];
+            int[] cursor = new int[n];
+            int time = 0;
+            for (int root : starts) {
+                if (depth[root] >= 0) {
+                    continue;
+                }
+                depth[root] = 0;
+                discovery[root] = time++;
+                visits[size++] = root;
+                cursor[root] = snapshot.begin(root);
+                stack[0] = root;
+
+                int top = 1;
+                while(top > 0){
+                    int target = stack[top - 1];
+                    int end = snapshot.end(target);
+
+                    // skip visited neighbors
+                    while(cursor[target] < end && depth[snapshot.target(cursor[target])] >= 0){
+                        cursor[target]++;
+                    }
+
+                    if(cursor[target] == end){
+                        finish[target] = time++;
+                        top--;
+                        continue;
+                    }
+
+                    int arc = cursor[target]++;
+                    int nextVertex = snapshot.target(arc);
+                    depth[nextVertex] = top;
+                    discovery[nextVertex] = time++;
+                    parent[nextVertex] = target;
+                    parentEdge[nextVertex] = snapshot.edgeId(arc);
+                    visits[size++] = nextVertex;
+                    cursor[nextVertex] = snapshot.begin(nextVertex);
+                    stack[top++] = nextVertex;
+                }
+            }
+        }
+    }
+
+    /**
+     * A vertex on the stack and the iterator of its remaining out edges
+     */
+    private static class Frame<V, E> {
+
+        private final V vertex;
+        private final Iterator<E> edges;
+
+        Frame(V vertex, Iterator<E> edges) {
+            this.vertex = vertex;
+            this.edges = edges;
+        }
     }
 }
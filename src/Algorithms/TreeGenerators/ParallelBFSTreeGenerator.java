@@ -0,0 +1,350 @@
+package Algorithms.TreeGenerators;
+
+import Algorithms.Graphs.CSRGraph;
+import Algorithms.Graphs.IndexedGraph;
+import Algorithms.Metrics.Metrics;
+import edu.uci.ics.jung.graph.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The generator of BFS tree, which expands each frontier in parallel.
+ *
+ * The search proceeds level by level. The vertices of each level are claimed by CAS on the shared depth array,
+ * so that every vertex gets exactly one parent at the previous level, and the tree has the same depth labels
+ * as the sequential BFS.
+ *
+ * Each level is expanded either top-down, where frontier vertices look for unvisited neighbors,
+ * or bottom-up, where unvisited vertices look for a neighbor in the frontier.
+ * Bottom-up is chosen while the frontier is large compared with the unvisited part of the graph,
+ * since most unvisited vertices then find a parent after checking only a few neighbors.
+ * Bottom-up is used only for undirected graphs, where every arc has its reverse.
+ *
+ * Given multiple roots, all of them form the first frontier, and the result is the forest where each vertex is
+ * attached to one of its nearest roots. Unlike BFSTreeGenerator, ties between roots are broken by whichever
+ * thread claims the vertex first.
+ *
+ *
+ * References
+ *
+ * S. Beamer, K. Asanovic and D. Patterson,
+ * Direction-Optimizing Breadth-First Search,
+ * Proceedings of the International Conference on High Performance Computing,
+ * Networking, Storage and Analysis (SC '12), 2012.
+ * http://dx.doi.org/10.1109/SC.2012.50
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class ParallelBFSTreeGenerator<V,E> implements ViewableTreeGenerator<V,E> {
+
+    // switch to bottom-up if the arcs of the frontier exceed 1/ALPHA of the unexplored arcs
+    private static final int ALPHA = 14;
+    // switch back to top-down if the frontier gets smaller than 1/BETA of all vertices
+    private static final int BETA = 24;
+
+    private Graph<V,E> graph;
+    private IndexedGraph<V,E> snapshot;
+    private org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory;
+    private List<V> rootVertices;
+    private ForkJoinPool pool;
+
+    /**
+     * Create a new instance of the generator, which runs on the common pool
+     * @param graph a given graph
+     * @param treeFactory the factory to use to generate the tree
+     * @param rootVertex the vertex which is a starting point of the algorithm
+     */
+    public ParallelBFSTreeGenerator(Graph<V,E> graph,
+                                    org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
+                                    V rootVertex) {
+        this(graph, treeFactory, rootVertex, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new instance of the generator
+     * @param graph a given graph
+     * @param treeFactory the factory to use to generate the tree
+     * @param rootVertex the vertex which is a starting point of the algorithm
+     * @param pool the pool to expand frontiers
+     * @throws IllegalArgumentException if the pool is null
+     */
+    public ParallelBFSTreeGenerator(Graph<V,E> graph,
+                                    org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
+                                    V rootVertex,
+                                    ForkJoinPool pool) {
+        this(graph, treeFactory, Collections.singletonList(rootVertex), pool);
+    }
+
+    /**
+     * Create a new instance of the generator, which starts from multiple roots at once
+     * @param graph a given graph
+     * @param treeFactory the factory to use to generate the forest
+     * @param rootVertices the vertices which are starting points of the algorithm
+     * @param pool the pool to expand frontiers
+     * @throws IllegalArgumentException if the pool is null
+     */
+    public ParallelBFSTreeGenerator(Graph<V,E> graph,
+                                    org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
+                                    Collection<V> rootVertices,
+                                    ForkJoinPool pool) {
+        this.graph = graph;
+        this.treeFactory = treeFactory;
+        this.rootVertices = new ArrayList<V>(rootVertices);
+        this.pool = checkPool(pool);
+    }
+
+    /**
+     * Create a new instance of the generator, which walks a snapshot of a given graph on the common pool
+     * @param snapshot a snapshot of a given graph
+     * @param treeFactory the factory to use to generate the tree
+     * @param rootVertex the vertex which is a starting point of the algorithm
+     */
+    public ParallelBFSTreeGenerator(IndexedGraph<V,E> snapshot,
+                                    org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
+                                    V rootVertex) {
+        this(snapshot, treeFactory, rootVertex, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new instance of the generator, which walks a snapshot of a given graph
+     * @param snapshot a snapshot of a given graph
+     * @param treeFactory the factory to use to generate the tree
+     * @param rootVertex the vertex which is a starting point of the algorithm
+     * @param pool the pool to expand frontiers
+     * @throws IllegalArgumentException if the pool is null
+     */
+    public ParallelBFSTreeGenerator(IndexedGraph<V,E> snapshot,
+                                    org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
+                                    V rootVertex,
+                                    ForkJoinPool pool) {
+        this(snapshot, treeFactory, Collections.singletonList(rootVertex), pool);
+    }
+
+    /**
+     * Create a new instance of the generator, which walks a snapshot of a given graph from multiple roots at once
+     * @param snapshot a snapshot of a given graph
+     * @param treeFactory the factory to use to generate the forest
+     * @param rootVertices the vertices which are starting points of the algorithm
+     * @param pool the pool to expand frontiers
+     * @throws IllegalArgumentException if the pool is null
+     */
+    public ParallelBFSTreeGenerator(IndexedGraph<V,E> snapshot,
+                                    org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
+                                    Collection<V> rootVertices,
+                                    ForkJoinPool pool) {
+        this.snapshot = snapshot;
+        this.treeFactory = treeFactory;
+        this.rootVertices = new ArrayList<V>(rootVertices);
+        this.pool = checkPool(pool);
+    }
+
+    /**
+     * Create the BFS tree as a subgraph of a given graph
+     * @return the BFS tree, or the forest if there are multiple roots
+     * @throws IllegalArgumentException if some root is not a vertex of a given graph
+     */
+    @Override
+    public Graph<V, E> create() {
+        return view().toGraph();
+    }
+
+    /**
+     * Walk the snapshot in BFS order without creating the tree.
+     *
+     * A snapshot of a given graph is created if the generator does not have one.
+     * Vertices are visited in order of their depth, and the roots come first.
+     * The order of vertices within a level depends on the scheduling of threads.
+     *
+     * @return the parent and the depth of each vertex
+     * @throws IllegalArgumentException if some root is not a vertex of a given graph
+     */
+    @Override
+    public TreeView<V, E> view() {
+        Metrics.Phase phase = Metrics.start(getClass(), "view");
+        try {
+            IndexedGraph<V,E> snapshot = this.snapshot != null ? this.snapshot : new CSRGraph<V,E>(graph);
+            int n = snapshot.numVertices();
+
+            AtomicIntegerArray depth = new AtomicIntegerArray(n);
+            for (int i = 0; i < n; i++) {
+                depth.set(i, -1);
+            }
+            int[] parent = new int[n];
+            int[] parentEdge = new int[n];
+            Arrays.fill(parent, -1);
+
+            // all roots form the first frontier. each frontier is kept in the array of visits, next to the previous one
+            int[] visits = new int[n];
+            int size = 0;
+            long frontierArcs = 0;
+            for (int root : Roots.indicesOf(snapshot, rootVertices)) {
+                if (depth.get(root) < 0) {
+                    depth.set(root, 0);
+                    visits[size++] = root;
+                    frontierArcs += snapshot.outDegree(root);
+                }
+            }
+
+            int frontierStart = 0;
+            long unexploredArcs = snapshot.numArcs() - frontierArcs;
+            boolean bottomUp = false;
+            int chunks = pool.getParallelism() * 4;
+
+            for (int level = 0; frontierStart < size; level++) {
+                int frontierSize = size - frontierStart;
+                Metrics.record("parallelBfs.frontier", frontierSize);
+
+                // choose the direction of this level
+                if (snapshot.isUndirected()) {
+                    if (!bottomUp && frontierArcs > unexploredArcs / ALPHA) {
+                        bottomUp = true;
+                    } else if (bottomUp && frontierSize < n / BETA) {
+                        bottomUp = false;
+                    }
+                }
+
+                if (bottomUp) {
+                    Metrics.count("parallelBfs.bottomUpLevels", 1);
+                }
+
+                // expand the frontier in chunks
+                List<Step> steps = new ArrayList<Step>(chunks);
+                int total = bottomUp ? n : frontierSize;
+                int offset = bottomUp ? 0 : frontierStart;
+                for (int c = 0; c < chunks; c++) {
+                    int from = offset + (int) ((long) total * c / chunks);
+                    int to = offset + (int) ((long) total * (c + 1) / chunks);
+                    if (from < to) {
+                        steps.add(new Step(snapshot, depth, parent, parentEdge, visits, level, from, to, bottomUp));
+                    }
+                }
+                for (Step step: steps) {
+                    pool.execute(step);
+                }
+
+                // append the next frontier to the visits
+                frontierStart = size;
+                frontierArcs = 0;
+                for (Step step: steps) {
+                    int[] part = step.join();
+                    System.arraycopy(part, 0, visits, size, step.size);
+                    size += step.size;
+                    frontierArcs += step.arcs;
+                }
+                unexploredArcs -= frontierArcs;
+            }
+
+            int[] depths = new int[n];
+            for (int v = 0; v < n; v++) {
+                depths[v] = depth.get(v);
+            }
+            TreeView<V, E> view = new TreeView<V, E>(snapshot, treeFactory, parent, parentEdge, depths, visits, size);
+            view.report("parallelBfs");
+            return view;
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Return the pool if it is given
+     */
+    private static ForkJoinPool checkPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool must not be null");
+        }
+        return pool;
+    }
+
+    /**
+     * The task which expands a part of the frontier, and returns the vertices of the next frontier it found.
+     * In top-down, the part is a range of the visits, which holds the frontier.
+     * In bottom-up, the part is a range of all vertices.
+     */
+    private static class Step extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IndexedGraph<?,?> snapshot;
+        private final AtomicIntegerArray depth;
+        private final int[] parent;
+        private final int[] parentEdge;
+        private final int[] frontier;
+        private final int level;
+        private final int from;
+        private final int to;
+        private final boolean bottomUp;
+        private int size;
+        private long arcs;
+
+        Step(IndexedGraph<?,?> snapshot, AtomicIntegerArray depth, int[] parent, int[] parentEdge, int[] frontier,
+             int level, int from, int to, boolean bottomUp) {
+            this.snapshot = snapshot;
+            this.depth = depth;
+            this.parent = parent;
+            this.parentEdge = parentEdge;
+            this.frontier = frontier;
+            this.level = level;
+            this.from = from;
+            this.to = to;
+            this.bottomUp = bottomUp;
+        }
+
+        @Override
+        protected int[] compute() {
+            int[] next = new int[16];
+            for (int i = from; i < to; i++) {
+                if (bottomUp) {
+                    // an unvisited vertex looks for a neighbor in the frontier
+                    int v = i;
+                    if (depth.get(v) >= 0) {
+                        continue;
+                    }
+                    for (int arc = snapshot.begin(v), end = snapshot.end(v); arc < end; arc++) {
+                        int u = snapshot.target(arc);
+                        if (depth.get(u) == level) {
+                            parent[v] = u;
+                            parentEdge[v] = snapshot.edgeId(arc);
+                            depth.set(v, level + 1);
+                            next = add(next, v);
+                            break;
+                        }
+                    }
+                } else {
+                    // a frontier vertex claims its unvisited neighbors
+                    int u = frontier[i];
+                    for (int arc = snapshot.begin(u), end = snapshot.end(u); arc < end; arc++) {
+                        int v = snapshot.target(arc);
+                        if (depth.get(v) < 0 && depth.compareAndSet(v, -1, level + 1)) {
+                            parent[v] = u;
+                            parentEdge[v] = snapshot.edgeId(arc);
+                            next = add(next, v);
+                        }
+                    }
+                }
+            }
+            return next;
+        }
+
+        /**
+         * Add the vertex to the next frontier, and count its arcs
+         */
+        private int[] add(int[] next, int v) {
+            if (size == next.length) {
+                int[] grown = new int[next.length * 2];
+                System.arraycopy(next, 0, grown, 0, size);
+                next = grown;
+            }
+            next[size++] = v;
+            arcs += snapshot.outDegree(v);
+            return next;
+        }
+    }
+}
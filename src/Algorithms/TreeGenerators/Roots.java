@@ -0,0 +1,49 @@
+package Algorithms.TreeGenerators;
+
+import Algorithms.Graphs.IndexedGraph;
+import edu.uci.ics.jung.graph.Graph;
+
+import java.util.List;
+
+/**
+ * Validation of the roots which tree generators start from.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+final class Roots {
+
+    private Roots() {
+    }
+
+    /**
+     * Return the index of each root in the snapshot
+     * @param snapshot the snapshot to walk
+     * @param rootVertices the roots in order
+     * @return the indices of the roots in order
+     * @throws IllegalArgumentException if some root is not a vertex of the snapshot
+     */
+    static <V> int[] indicesOf(IndexedGraph<V,?> snapshot, List<V> rootVertices) {
+        int[] roots = new int[rootVertices.size()];
+        for (int i = 0; i < roots.length; i++) {
+            roots[i] = snapshot.indexOf(rootVertices.get(i));
+            if (roots[i] < 0) {
+                throw new IllegalArgumentException("root is not a vertex of the graph: " + rootVertices.get(i));
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Check that each root is a vertex of a given graph
+     * @param graph a given graph
+     * @param rootVertices the roots
+     * @throws IllegalArgumentException if some root is not a vertex of a given graph
+     */
+    static <V> void check(Graph<V,?> graph, List<V> rootVertices) {
+        for (V rootVertex : rootVertices) {
+            if (!graph.containsVertex(rootVertex)) {
+                throw new IllegalArgumentException("root is not a vertex of the graph: " + rootVertex);
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package Algorithms.TreeGenerators;
+
+import Algorithms.Graphs.IndexedGraph;
+import Algorithms.Metrics.Metrics;
+import edu.uci.ics.jung.graph.Graph;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * The compact view of a tree or a forest, which keeps the parent and the depth of each vertex in primitive arrays.
+ *
+ * Each vertex is identified by its index in the snapshot of a given graph.
+ * Vertices which were not visited have -1 as their parent and depth. Each root also has -1 as its parent,
+ * and 0 as its depth. Vertices are also kept in order of their visit, where each parent comes before its children.
+ *
+ *
+ * Notes
+ *
+ * The view is immutable, and costs four ints per vertex of the snapshot, while a JUNG graph keeps maps of
+ * incident edges of each vertex. The tree as a JUNG graph is created only when toGraph() is called,
+ * and each call creates a new graph, so that editing it never changes the view or other callers' graphs.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class TreeView<V,E> {
+
+    private final IndexedGraph<V,E> snapshot;
+    private final org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory;
+    private final int[] parent;
+    private final int[] parentEdge;
+    private final int[] depth;
+    private final int[] order;
+    private final int size;
+
+    /**
+     * Create a new instance
+     * @param snapshot the snapshot which was walked
+     * @param treeFactory the factory to use to generate the tree on toGraph()
+     * @param parent the index of the parent of each vertex
+     * @param parentEdge the id of the edge to the parent of each vertex
+     * @param depth the depth of each vertex
+     * @param order the visited vertices in order of their visit, which may be longer than size
+     * @param size the number of visited vertices
+     */
+    TreeView(IndexedGraph<V,E> snapshot, org.apache.commons.collections15.Factory<Graph<V,E>> treeFactory,
+             int[] parent, int[] parentEdge, int[] depth, int[] order, int size) {
+        this.snapshot = snapshot;
+        this.treeFactory = treeFactory;
+        this.parent = parent;
+        this.parentEdge = parentEdge;
+        this.depth = depth;
+        this.order = order;
+        this.size = size;
+    }
+
+    /**
+     * Return the snapshot which was walked, which maps each index to its vertex
+     * @return the snapshot
+     */
+    public IndexedGraph<V,E> getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Return the number of visited vertices
+     * @return the number of vertices in the tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the parent of the vertex in the tree
+     * @param v the index of a vertex
+     * @return the index of the parent, or -1 if the vertex is a root or was not visited
+     */
+    public int parent(int v) {
+        return parent[v];
+    }
+
+    /**
+     * Return the edge between the vertex and its parent in the tree
+     * @param v the index of a vertex
+     * @return the id of the edge, or -1 if the vertex is a root or was not visited
+     */
+    public int parentEdge(int v) {
+        return parent[v] < 0 ? -1 : parentEdge[v];
+    }
+
+    /**
+     * Return the depth of the vertex in the tree
+     * @param v the index of a vertex
+     * @return the depth, or -1 if the vertex was not visited
+     */
+    public int depth(int v) {
+        return depth[v];
+    }
+
+    /**
+     * Return the vertex visited at the position
+     * @param i the position in order of visits
+     * @return the index of the vertex
+     */
+    public int visitAt(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("position " + i + " is out of " + size + " visits");
+        }
+        return order[i];
+    }
+
+    /**
+     * Return whether the vertex was visited or not
+     * @param v the index of a vertex
+     * @return true if the vertex is in the tree
+     */
+    public boolean isVisited(int v) {
+        return depth[v] >= 0;
+    }
+
+    /**
+     * Return the parent of the vertex in the tree
+     * @param vertex a vertex of a given graph
+     * @return the parent, or null if the vertex is a root or was not visited
+     * @throws IllegalArgumentException if the vertex is not in the graph
+     */
+    public V getParent(V vertex) {
+        int p = parent[indexOf(vertex)];
+        return p < 0 ? null : snapshot.vertexAt(p);
+    }
+
+    /**
+     * Return the depth of the vertex in the tree
+     * @param vertex a vertex of a given graph
+     * @return the depth, or -1 if the vertex was not visited
+     * @throws IllegalArgumentException if the vertex is not in the graph
+     */
+    public int getDepth(V vertex) {
+        return depth[indexOf(vertex)];
+    }
+
+    /**
+     * Return the index of the vertex in the snapshot
+     */
+    private int indexOf(V vertex) {
+        int v = snapshot.indexOf(vertex);
+        if (v < 0) {
+            throw new IllegalArgumentException("vertex is not in the graph: " + vertex);
+        }
+        return v;
+    }
+
+    /**
+     * Return the visited vertices in order of their visit
+     * @return the unmodifiable list of visited vertices
+     */
+    public List<V> getOrder() {
+        return new AbstractList<V>() {
+            @Override
+            public V get(int i) {
+                return snapshot.vertexAt(visitAt(i));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Return the tree as a subgraph of a given graph. A new graph is created on each call.
+     * @return the tree, or the forest if there are multiple roots
+     */
+    public Graph<V,E> toGraph() {
+        Metrics.Phase phase = Metrics.start(TreeView.class, "toGraph");
+        try {
+            Graph<V,E> tree = treeFactory.create();
+            for (int i = 0; i < size; i++) {
+                int v = order[i];
+                if (parent[v] < 0) {
+                    tree.addVertex(snapshot.vertexAt(v));
+                } else {
+                    tree.addEdge(snapshot.edgeAt(parentEdge[v]), snapshot.vertexAt(parent[v]), snapshot.vertexAt(v));
+                }
+            }
+            return tree;
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Report the number of visited vertices and scanned arcs to metrics, if they are enabled
+     * @param traversal the prefix of the names of counters
+     */
+    void report(String traversal) {
+        if (!Metrics.isEnabled()) {
+            return;
+        }
+        long arcs = 0;
+        for (int i = 0; i < size; i++) {
+            arcs += snapshot.outDegree(order[i]);
+        }
+        Metrics.count(traversal + ".vertices", size);
+        Metrics.count(traversal + ".arcs", arcs);
+    }
+}
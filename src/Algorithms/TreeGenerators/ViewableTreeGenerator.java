@@ -0,0 +1,15 @@
+package Algorithms.TreeGenerators;
+
+/**
+ * An interface for tree generators which can also return the tree as a TreeView, without creating a graph.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public interface ViewableTreeGenerator<V,E> extends TreeGenerator<V,E> {
+
+    /**
+     * create tree as parent and depth arrays, without creating a graph
+     * @return view of tree
+     */
+    TreeView<V, E> view();
+}
@@ -0,0 +1,66 @@
+package Algorithms.Centrality;
+
+import Algorithms.GraphGenerators.NewmanWattsStrogatzGenerator;
+import edu.uci.ics.jung.graph.Graph;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static Algorithms.Centrality.StructuredCentralityTest.counter;
+import static Algorithms.Centrality.StructuredCentralityTest.graphFactory;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of BetweennessCentrality and SampledBetweennessCentrality, which are compared with jung's betweenness.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class BetweennessCentralityTest {
+
+    private final Graph<Integer, Integer> graph = new NewmanWattsStrogatzGenerator<Integer, Integer>(
+            graphFactory(), counter(), counter(), 150, 4, 0.02, 5).create();
+
+    @Test
+    public void betweennessMatchesJung() {
+        edu.uci.ics.jung.algorithms.scoring.BetweennessCentrality<Integer, Integer> expected =
+                new edu.uci.ics.jung.algorithms.scoring.BetweennessCentrality<Integer, Integer>(graph);
+        Map<Integer, Double> sequential = new BetweennessCentrality<Integer, Integer>(graph).getCentralMap();
+        Map<Integer, Double> parallel;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parallel = new BetweennessCentrality<Integer, Integer>(graph, pool).getCentralMap();
+        } finally {
+            pool.shutdown();
+        }
+
+        for (Integer v : graph.getVertices()) {
+            assertEquals(expected.getVertexScore(v), sequential.get(v), 1e-6);
+            assertEquals(sequential.get(v), parallel.get(v), 1e-6);
+        }
+    }
+
+    @Test
+    public void samplingAllSourcesIsExact() {
+        Map<Integer, Double> exact = new BetweennessCentrality<Integer, Integer>(graph).getCentralMap();
+        Map<Integer, Double> sampled = new SampledBetweennessCentrality<Integer, Integer>(
+                graph, graph.getVertexCount(), 11).getCentralMap();
+
+        for (Integer v : graph.getVertices()) {
+            assertEquals(exact.get(v), sampled.get(v), 1e-6);
+        }
+    }
+
+    @Test
+    public void sampledBetweennessIsWithinErrorBound() {
+        Map<Integer, Double> exact = new BetweennessCentrality<Integer, Integer>(graph).getCentralMap();
+        SampledBetweennessCentrality<Integer, Integer> sampled = new SampledBetweennessCentrality<Integer, Integer>(
+                graph, 50, 11);
+        Map<Integer, Double> estimates = sampled.getCentralMap();
+
+        double bound = sampled.getErrorBound(0.01);
+        for (Integer v : graph.getVertices()) {
+            assertEquals(exact.get(v), estimates.get(v), bound);
+        }
+    }
+}
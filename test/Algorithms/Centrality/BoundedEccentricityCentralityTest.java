@@ -0,0 +1,92 @@
+package Algorithms.Centrality;
+
+import Algorithms.GraphGenerators.LadderGraphGenerator;
+import Algorithms.GraphGenerators.NewmanWattsStrogatzGenerator;
+import Algorithms.Graphs.CSRGraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of BoundedEccentricityCentrality.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class BoundedEccentricityCentralityTest {
+
+    private final Graph<Integer, Integer> ladder = new LadderGraphGenerator<Integer, Integer>(
+            graphFactory(), counter(), counter(), 10).create();
+
+    @Test
+    public void boundsGiveExactRadiusAndDiameter() {
+        Graph<Integer, Integer> graph = new NewmanWattsStrogatzGenerator<Integer, Integer>(
+                graphFactory(), counter(), counter(), 300, 4, 0.01, 7).create();
+        Map<Integer, Double> exact = new EccentricityCentrality<Integer, Integer>(graph).getCentralMap();
+        double radius = Collections.min(exact.values());
+        double diameter = Collections.max(exact.values());
+
+        BoundedEccentricityCentrality<Integer, Integer> bounded = new BoundedEccentricityCentrality<Integer, Integer>(graph);
+        assertEquals(radius, bounded.getRadius(), 0);
+        assertEquals(diameter, bounded.getDiameter(), 0);
+        assertTrue("searches: " + bounded.getNumSearches(), bounded.getNumSearches() < graph.getVertexCount());
+        for (Integer v : bounded.getCentralVertices()) {
+            assertEquals(radius, exact.get(v), 0);
+        }
+        assertEquals(exact, bounded.getCentralMap());
+    }
+
+    @Test
+    public void centerOfLadderIsTheMiddleRung() {
+        BoundedEccentricityCentrality<Integer, Integer> bounded = new BoundedEccentricityCentrality<Integer, Integer>(ladder);
+
+        // 5 rungs, where the middle rung is vertices 4 and 5
+        assertEquals(3, bounded.getRadius(), 0);
+        assertEquals(5, bounded.getDiameter(), 0);
+        assertEquals(new HashSet<Integer>(Arrays.asList(4, 5)), new HashSet<Integer>(bounded.getCentralVertices()));
+        assertEquals(5, bounded.getCentrality(0), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownVertexHasNoEccentricity() {
+        new BoundedEccentricityCentrality<Integer, Integer>(ladder).getCentrality(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownVertexHasNoEccentricityInSnapshot() {
+        new BoundedEccentricityCentrality<Integer, Integer>(new CSRGraph<Integer, Integer>(ladder)).getCentrality(-1);
+    }
+
+    /**
+     * Return the factory of undirected graphs
+     */
+    static org.apache.commons.collections15.Factory<Graph<Integer, Integer>> graphFactory() {
+        return new org.apache.commons.collections15.Factory<Graph<Integer, Integer>>() {
+            @Override
+            public Graph<Integer, Integer> create() {
+                return new UndirectedSparseGraph<Integer, Integer>();
+            }
+        };
+    }
+
+    /**
+     * Return the factory of Integers numbered from 0
+     */
+    static org.apache.commons.collections15.Factory<Integer> counter() {
+        return new org.apache.commons.collections15.Factory<Integer>() {
+            private int count;
+
+            @Override
+            public Integer create() {
+                return count++;
+            }
+        };
+    }
+}
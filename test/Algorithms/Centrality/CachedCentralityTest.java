@@ -0,0 +1,42 @@
+package Algorithms.Centrality;
+
+import Algorithms.Metrics.InMemoryMetricsListener;
+import Algorithms.Metrics.Metrics;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of CachedCentrality.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class CachedCentralityTest {
+
+    @After
+    public void tearDown() {
+        Metrics.setListener(null);
+    }
+
+    @Test
+    public void phaseIsReportedWhenCalculationFails() {
+        InMemoryMetricsListener listener = new InMemoryMetricsListener();
+        Metrics.setListener(listener);
+        CachedCentrality<Integer, Integer> centrality = new CachedCentrality<Integer, Integer>(null, true) {
+            @Override
+            protected void calculate() {
+                throw new IllegalStateException("failed");
+            }
+        };
+
+        try {
+            centrality.getCentralMap();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("failed", e.getMessage());
+        }
+        assertEquals(1, listener.getTimer("CachedCentrality.calculate").getCount());
+    }
+}
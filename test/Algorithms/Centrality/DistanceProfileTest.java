@@ -0,0 +1,74 @@
+package Algorithms.Centrality;
+
+import Algorithms.GraphGenerators.NewmanWattsStrogatzGenerator;
+import edu.uci.ics.jung.algorithms.shortestpath.DijkstraDistance;
+import edu.uci.ics.jung.graph.Graph;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static Algorithms.Centrality.EccentricityCentralityTest.dijkstraEccentricities;
+import static Algorithms.Centrality.StructuredCentralityTest.counter;
+import static Algorithms.Centrality.StructuredCentralityTest.graphFactory;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of closeness and harmonic centrality, which are compared with the distances of jung,
+ * with and without a DistanceProfile shared with eccentricity.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class DistanceProfileTest {
+
+    private final Graph<Integer, Integer> graph = new NewmanWattsStrogatzGenerator<Integer, Integer>(
+            graphFactory(), counter(), counter(), 200, 4, 0.02, 3).create();
+
+    @Test
+    public void closenessAndHarmonicMatchDijkstraDistance() {
+        DijkstraDistance<Integer, Integer> distance = new DijkstraDistance<Integer, Integer>(graph);
+        Map<Integer, Double> closeness = new ClosenessCentrality<Integer, Integer>(graph).getCentralMap();
+        Map<Integer, Double> harmonic = new HarmonicCentrality<Integer, Integer>(graph).getCentralMap();
+
+        int n = graph.getVertexCount();
+        for (Integer v : graph.getVertices()) {
+            double sum = 0;
+            double reciprocalSum = 0;
+            for (Map.Entry<Integer, Number> entry : distance.getDistanceMap(v).entrySet()) {
+                if (!entry.getKey().equals(v)) {
+                    sum += entry.getValue().doubleValue();
+                    reciprocalSum += 1 / entry.getValue().doubleValue();
+                }
+            }
+            assertEquals((n - 1) / sum, closeness.get(v), 1e-9);
+            assertEquals(reciprocalSum, harmonic.get(v), 1e-9);
+        }
+    }
+
+    @Test
+    public void sharedProfileGivesSameCentralities() {
+        DistanceProfile<Integer, Integer> profile = new DistanceProfile<Integer, Integer>(graph);
+
+        assertEquals(dijkstraEccentricities(graph), new EccentricityCentrality<Integer, Integer>(profile).getCentralMap());
+        assertEquals(new ClosenessCentrality<Integer, Integer>(graph).getCentralMap(),
+                new ClosenessCentrality<Integer, Integer>(profile).getCentralMap());
+        assertEquals(new HarmonicCentrality<Integer, Integer>(graph).getCentralMap(),
+                new HarmonicCentrality<Integer, Integer>(profile).getCentralMap());
+    }
+
+    @Test
+    public void unreachableVerticesAreIgnoredOnlyByHarmonic() {
+        Graph<Integer, Integer> graph = graphFactory().create();
+        graph.addEdge(0, 0, 1);
+        graph.addEdge(1, 1, 2);
+        graph.addVertex(3);
+
+        Map<Integer, Double> closeness = new ClosenessCentrality<Integer, Integer>(graph).getCentralMap();
+        Map<Integer, Double> harmonic = new HarmonicCentrality<Integer, Integer>(graph).getCentralMap();
+        for (Integer v : graph.getVertices()) {
+            assertEquals(0, closeness.get(v), 0);
+        }
+        assertEquals(1 + 0.5, harmonic.get(0), 1e-9);
+        assertEquals(2, harmonic.get(1), 1e-9);
+        assertEquals(0, harmonic.get(3), 0);
+    }
+}
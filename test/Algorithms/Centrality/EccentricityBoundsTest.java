@@ -0,0 +1,120 @@
+package Algorithms.Centrality;
+
+import Algorithms.GraphGenerators.NewmanWattsStrogatzGenerator;
+import edu.uci.ics.jung.graph.Graph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static Algorithms.Centrality.StructuredCentralityTest.counter;
+import static Algorithms.Centrality.StructuredCentralityTest.graphFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of budgeted and cancellable eccentricity, whose bounds must contain the exact eccentricities.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class EccentricityBoundsTest {
+
+    private final Graph<Integer, Integer> graph = new NewmanWattsStrogatzGenerator<Integer, Integer>(
+            graphFactory(), counter(), counter(), 200, 4, 0.02, 13).create();
+    private final Map<Integer, Double> exact = new EccentricityCentrality<Integer, Integer>(graph).getCentralMap();
+
+    @Test
+    public void boundsUnderWorkBudgetContainExactEccentricities() {
+        EccentricityBounds<Integer> bounds = new EccentricityCentrality<Integer, Integer>(graph).getBounds(
+                new Progress(null, Long.MAX_VALUE, TimeUnit.NANOSECONDS, 20));
+
+        assertEquals(20, bounds.getNumSearches());
+        assertFalse(bounds.isComplete());
+        assertContainsExact(bounds);
+    }
+
+    @Test
+    public void parallelBoundsUnderWorkBudgetContainExactEccentricities() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        EccentricityBounds<Integer> bounds;
+        try {
+            bounds = new EccentricityCentrality<Integer, Integer>(graph, pool).getBounds(
+                    new Progress(null, Long.MAX_VALUE, TimeUnit.NANOSECONDS, 20));
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(20, bounds.getNumSearches());
+        assertContainsExact(bounds);
+    }
+
+    @Test
+    public void boundsWithoutBudgetAreExact() {
+        final AtomicLong reported = new AtomicLong();
+        EccentricityBounds<Integer> bounds = new EccentricityCentrality<Integer, Integer>(graph).getBounds(
+                new Progress(new ProgressListener() {
+                    @Override
+                    public void progress(long done, long total) {
+                        reported.set(done);
+                    }
+                }));
+
+        assertTrue(bounds.isComplete());
+        assertEquals(graph.getVertexCount(), reported.get());
+        assertEquals(exact, bounds.getLowerMap());
+        assertEquals(exact, bounds.getUpperMap());
+    }
+
+    @Test
+    public void cancellingFutureCancelsProgress() {
+        // the executor never runs the calculation, so that the future is cancelled before it starts
+        final List<Runnable> pending = new ArrayList<Runnable>();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                pending.add(command);
+            }
+        };
+        Progress progress = new Progress();
+        CompletableFuture<EccentricityBounds<Integer>> future =
+                new EccentricityCentrality<Integer, Integer>(graph).calculateAsync(progress, executor);
+
+        future.cancel(true);
+        assertTrue(progress.isCancelled());
+        assertEquals(1, pending.size());
+    }
+
+    @Test
+    public void cancelledProgressSearchesNothing() {
+        Progress progress = new Progress();
+        progress.cancel();
+        EccentricityBounds<Integer> bounds = new EccentricityCentrality<Integer, Integer>(graph).getBounds(progress);
+
+        assertEquals(0, bounds.getNumSearches());
+        assertContainsExact(bounds);
+    }
+
+    /**
+     * Assert that the bounds of every vertex and of the radius contain the exact values
+     */
+    private void assertContainsExact(EccentricityBounds<Integer> bounds) {
+        for (Integer v : graph.getVertices()) {
+            assertTrue(bounds.getLower(v) <= exact.get(v));
+            assertTrue(exact.get(v) <= bounds.getUpper(v));
+            if (bounds.isExact(v)) {
+                assertEquals(exact.get(v), bounds.getLower(v), 0);
+            }
+        }
+        double radius = Collections.min(exact.values());
+        assertTrue(bounds.getRadiusLower() <= radius);
+        assertTrue(radius <= bounds.getRadiusUpper());
+    }
+}
@@ -0,0 +1,138 @@
+package Algorithms.Centrality;
+
+import Algorithms.GraphGenerators.NewmanWattsStrogatzGenerator;
+import Algorithms.Graphs.CSRGraph;
+import edu.uci.ics.jung.algorithms.shortestpath.DijkstraDistance;
+import edu.uci.ics.jung.graph.Graph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static Algorithms.Centrality.StructuredCentralityTest.counter;
+import static Algorithms.Centrality.StructuredCentralityTest.graphFactory;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of EccentricityCentrality, which are compared with the distances of jung.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class EccentricityCentralityTest {
+
+    private final Graph<Integer, Integer> graph = new NewmanWattsStrogatzGenerator<Integer, Integer>(
+            graphFactory(), counter(), counter(), 200, 4, 0.02, 1).create();
+
+    @Test
+    public void eccentricitiesMatchDijkstraDistance() {
+        Map<Integer, Double> expected = dijkstraEccentricities(graph);
+
+        assertEquals(expected, new EccentricityCentrality<Integer, Integer>(graph).getCentralMap());
+        assertEquals(expected, new EccentricityCentrality<Integer, Integer>(
+                new CSRGraph<Integer, Integer>(graph)).getCentralMap());
+    }
+
+    @Test
+    public void parallelEccentricitiesMatchDijkstraDistance() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(dijkstraEccentricities(graph),
+                    new EccentricityCentrality<Integer, Integer>(graph, pool).getCentralMap());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void weightedEccentricitiesMatchDijkstraDistance() {
+        Map<Integer, Double> expected = dijkstraEccentricities(graph,
+                new DijkstraDistance<Integer, Integer>(graph, weights()));
+
+        assertEquals(expected, new EccentricityCentrality<Integer, Integer>(graph, weights()).getCentralMap());
+        assertEquals(expected, new EccentricityCentrality<Integer, Integer>(
+                new CSRGraph<Integer, Integer>(graph), weights()).getCentralMap());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(expected, new EccentricityCentrality<Integer, Integer>(graph, weights(), pool).getCentralMap());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void weightedMostCentralVerticesHaveSmallestEccentricities() {
+        Map<Integer, Double> expected = dijkstraEccentricities(graph,
+                new DijkstraDistance<Integer, Integer>(graph, weights()));
+        List<Double> smallest = new ArrayList<Double>(expected.values());
+        Collections.sort(smallest);
+
+        List<Integer> central = new EccentricityCentrality<Integer, Integer>(graph, weights()).getMostCentralVertices(5);
+        assertEquals(5, central.size());
+        for (int i = 0; i < central.size(); i++) {
+            assertEquals(smallest.get(i), expected.get(central.get(i)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeWeightIsRejected() {
+        new EccentricityCentrality<Integer, Integer>(graph,
+                new org.apache.commons.collections15.Transformer<Integer, Integer>() {
+                    @Override
+                    public Integer transform(Integer e) {
+                        return e == 0 ? -1 : 1;
+                    }
+                }).getCentralMap();
+    }
+
+    @Test
+    public void unreachableVertexHasInfiniteEccentricity() {
+        Graph<Integer, Integer> graph = graphFactory().create();
+        graph.addEdge(0, 0, 1);
+        graph.addEdge(1, 1, 2);
+        graph.addEdge(2, 3, 4);
+
+        Map<Integer, Double> eccentricities = new EccentricityCentrality<Integer, Integer>(graph).getCentralMap();
+        for (Integer v : graph.getVertices()) {
+            assertEquals(Double.POSITIVE_INFINITY, eccentricities.get(v), 0);
+        }
+    }
+
+    /**
+     * Return the weights of edges from 1 to 10
+     */
+    static org.apache.commons.collections15.Transformer<Integer, Integer> weights() {
+        return new org.apache.commons.collections15.Transformer<Integer, Integer>() {
+            @Override
+            public Integer transform(Integer e) {
+                return 1 + e * 7 % 10;
+            }
+        };
+    }
+
+    /**
+     * Return the eccentricity of each vertex by the distances of jung
+     */
+    static Map<Integer, Double> dijkstraEccentricities(Graph<Integer, Integer> graph) {
+        return dijkstraEccentricities(graph, new DijkstraDistance<Integer, Integer>(graph));
+    }
+
+    /**
+     * Return the eccentricity of each vertex by the given distances of jung, where the graph is connected
+     */
+    static Map<Integer, Double> dijkstraEccentricities(Graph<Integer, Integer> graph,
+                                                       DijkstraDistance<Integer, Integer> distance) {
+        Map<Integer, Double> eccentricities = new HashMap<Integer, Double>();
+        for (Integer v : graph.getVertices()) {
+            double eccentricity = 0;
+            for (Number d : distance.getDistanceMap(v).values()) {
+                eccentricity = Math.max(eccentricity, d.doubleValue());
+            }
+            eccentricities.put(v, eccentricity);
+        }
+        return eccentricities;
+    }
+}
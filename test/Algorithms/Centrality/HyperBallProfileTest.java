@@ -0,0 +1,82 @@
+package Algorithms.Centrality;
+
+import Algorithms.GraphGenerators.NewmanWattsStrogatzGenerator;
+import edu.uci.ics.jung.graph.Graph;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static Algorithms.Centrality.StructuredCentralityTest.counter;
+import static Algorithms.Centrality.StructuredCentralityTest.graphFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of HyperBallProfile, whose approximate centralities are compared with the exact ones.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class HyperBallProfileTest {
+
+    private final Graph<Integer, Integer> graph = new NewmanWattsStrogatzGenerator<Integer, Integer>(
+            graphFactory(), counter(), counter(), 1000, 4, 0.002, 9).create();
+
+    @Test
+    public void estimatesAreCloseToExactCentralities() {
+        HyperBallProfile<Integer, Integer> profile = new HyperBallProfile<Integer, Integer>(graph, 10, 100);
+        Map<Integer, Double> eccentricities = new EccentricityCentrality<Integer, Integer>(profile).getCentralMap();
+        Map<Integer, Double> closeness = new ClosenessCentrality<Integer, Integer>(profile).getCentralMap();
+        Map<Integer, Double> exactEccentricities = new EccentricityCentrality<Integer, Integer>(graph).getCentralMap();
+        Map<Integer, Double> exactCloseness = new ClosenessCentrality<Integer, Integer>(graph).getCentralMap();
+
+        assertTrue(profile.isConverged());
+        double error = 4 * profile.getRelativeStandardError();
+        for (Integer v : graph.getVertices()) {
+            // an eccentricity is never overestimated
+            assertTrue(eccentricities.get(v) <= exactEccentricities.get(v));
+            assertTrue(eccentricities.get(v) >= exactEccentricities.get(v) - 2);
+            assertEquals(exactCloseness.get(v), closeness.get(v), error * exactCloseness.get(v));
+        }
+    }
+
+    @Test
+    public void parallelIterationsGiveSameProfile() {
+        HyperBallProfile<Integer, Integer> sequential = new HyperBallProfile<Integer, Integer>(graph, 8, 100);
+        HyperBallProfile<Integer, Integer> parallel;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parallel = new HyperBallProfile<Integer, Integer>(graph, 8, 100, pool);
+            assertEquals(new HarmonicCentrality<Integer, Integer>(sequential).getCentralMap(),
+                    new HarmonicCentrality<Integer, Integer>(parallel).getCentralMap());
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(sequential.getNumIterations(), parallel.getNumIterations());
+    }
+
+    @Test
+    public void iterationLimitStopsBeforeConvergence() {
+        HyperBallProfile<Integer, Integer> profile = new HyperBallProfile<Integer, Integer>(graph, 8, 3);
+        new HarmonicCentrality<Integer, Integer>(profile).getCentralMap();
+
+        assertFalse(profile.isConverged());
+        assertEquals(3, profile.getNumIterations());
+    }
+
+    @Test
+    public void disconnectedGraphHasExactInfiniteEccentricity() {
+        Graph<Integer, Integer> graph = graphFactory().create();
+        graph.addEdge(0, 0, 1);
+        graph.addEdge(1, 2, 3);
+        HyperBallProfile<Integer, Integer> profile = new HyperBallProfile<Integer, Integer>(graph, 6, 10);
+
+        Map<Integer, Double> eccentricities = new EccentricityCentrality<Integer, Integer>(profile).getCentralMap();
+        Map<Integer, Double> closeness = new ClosenessCentrality<Integer, Integer>(profile).getCentralMap();
+        for (Integer v : graph.getVertices()) {
+            assertEquals(Double.POSITIVE_INFINITY, eccentricities.get(v), 0);
+            assertEquals(0, closeness.get(v), 0);
+        }
+    }
+}
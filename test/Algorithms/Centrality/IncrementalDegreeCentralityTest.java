@@ -0,0 +1,62 @@
+package Algorithms.Centrality;
+
+import Algorithms.GraphGenerators.LadderGraphGenerator;
+import edu.uci.ics.jung.graph.ObservableGraph;
+import org.junit.Test;
+
+import java.util.HashSet;
+
+import static Algorithms.Centrality.StructuredCentralityTest.counter;
+import static Algorithms.Centrality.StructuredCentralityTest.graphFactory;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of IncrementalDegreeCentrality, which must follow edits as DegreeCentrality calculates again.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class IncrementalDegreeCentralityTest {
+
+    @Test
+    public void degreesFollowEdits() {
+        ObservableGraph<Integer, Integer> graph = new ObservableGraph<Integer, Integer>(
+                new LadderGraphGenerator<Integer, Integer>(graphFactory(), counter(), counter(), 10).create());
+        IncrementalDegreeCentrality<Integer, Integer> incremental = new IncrementalDegreeCentrality<Integer, Integer>(graph);
+        assertSameDegrees(graph, incremental);
+
+        graph.addEdge(100, 0, 9);
+        graph.addEdge(101, 0, 5);
+        assertSameDegrees(graph, incremental);
+
+        graph.addVertex(20);
+        graph.addEdge(102, 20, 0);
+        graph.addEdge(103, 20, 20);
+        assertSameDegrees(graph, incremental);
+
+        graph.removeEdge(101);
+        graph.removeEdge(3);
+        assertSameDegrees(graph, incremental);
+
+        graph.removeVertex(0);
+        assertSameDegrees(graph, incremental);
+
+        // edits after dispose() are not followed
+        incremental.dispose();
+        graph.addEdge(104, 1, 9);
+        assertEquals(new DegreeCentrality<Integer, Integer>(graph).getCentrality(1) - 1,
+                incremental.getCentrality(1), 0);
+    }
+
+    /**
+     * Assert that the incremental degrees are the same as the degrees calculated from scratch
+     */
+    private static void assertSameDegrees(ObservableGraph<Integer, Integer> graph,
+                                          IncrementalDegreeCentrality<Integer, Integer> incremental) {
+        DegreeCentrality<Integer, Integer> expected = new DegreeCentrality<Integer, Integer>(graph);
+
+        assertEquals(expected.getCentralMap(), incremental.getCentralMap());
+        assertEquals(new HashSet<Integer>(expected.getCentralVertices()),
+                new HashSet<Integer>(incremental.getCentralVertices()));
+        assertEquals(expected.getCentrality(expected.getCentralVertices().get(0)), incremental.getMaximumDegree(), 0);
+    }
+}
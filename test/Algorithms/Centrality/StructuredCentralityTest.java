@@ -0,0 +1,105 @@
+package Algorithms.Centrality;
+
+import Algorithms.GraphGenerators.LadderGraphGenerator;
+import Algorithms.GraphGenerators.LadderStructure;
+import Algorithms.Graphs.CSRGraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of degree and eccentricity centrality which read the structure of a generated graph.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class StructuredCentralityTest {
+
+    private final LadderGraphGenerator<Integer, Integer> generator = new LadderGraphGenerator<Integer, Integer>(
+            graphFactory(), counter(), counter(), 20);
+    private final CSRGraph<Integer, Integer> snapshot = generator.createSnapshot(null);
+    private final LadderStructure structure = generator.getStructure();
+
+    @Test
+    public void structureMatchesTraversal() {
+        Map<Integer, Double> degrees = new DegreeCentrality<Integer, Integer>(snapshot).getCentralMap();
+        Map<Integer, Double> eccentricities = new EccentricityCentrality<Integer, Integer>(snapshot).getCentralMap();
+
+        assertEquals(degrees, new DegreeCentrality<Integer, Integer>(snapshot, structure).getCentralMap());
+        assertEquals(eccentricities, new EccentricityCentrality<Integer, Integer>(snapshot, structure).getCentralMap());
+        for (Integer v : snapshot.getVertices()) {
+            assertEquals(eccentricities.get(v),
+                    new EccentricityCentrality<Integer, Integer>(snapshot, structure).getCentrality(v), 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownVertexHasNoDegree() {
+        new DegreeCentrality<Integer, Integer>(snapshot, structure).getCentrality(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownVertexHasNoEccentricity() {
+        new EccentricityCentrality<Integer, Integer>(snapshot, structure).getCentrality(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void renumberedSnapshotHasNoDegree() {
+        new DegreeCentrality<Integer, Integer>(rotate(snapshot), structure);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void renumberedSnapshotHasNoEccentricity() {
+        new EccentricityCentrality<Integer, Integer>(rotate(snapshot), structure);
+    }
+
+    /**
+     * Return the same graph as the snapshot, where the vertex of index v is moved to index v + 1
+     */
+    static CSRGraph<Integer, Integer> rotate(CSRGraph<Integer, Integer> snapshot) {
+        int n = snapshot.numVertices();
+        List<Integer> vertices = new ArrayList<Integer>(Collections.<Integer>nCopies(n, null));
+        int[] sources = new int[snapshot.numEdges()];
+        int[] targets = new int[snapshot.numEdges()];
+        for (int v = 0; v < n; v++) {
+            vertices.set((v + 1) % n, snapshot.vertexAt(v));
+            for (int arc = snapshot.begin(v); arc < snapshot.end(v); arc++) {
+                sources[snapshot.edgeId(arc)] = (v + 1) % n;
+                targets[snapshot.edgeId(arc)] = (snapshot.target(arc) + 1) % n;
+            }
+        }
+        return new CSRGraph<Integer, Integer>(vertices, snapshot.getEdges(), sources, targets, true);
+    }
+
+    /**
+     * Return the factory of undirected graphs
+     */
+    static org.apache.commons.collections15.Factory<Graph<Integer, Integer>> graphFactory() {
+        return new org.apache.commons.collections15.Factory<Graph<Integer, Integer>>() {
+            @Override
+            public Graph<Integer, Integer> create() {
+                return new UndirectedSparseGraph<Integer, Integer>();
+            }
+        };
+    }
+
+    /**
+     * Return the factory of Integers numbered from 0
+     */
+    static org.apache.commons.collections15.Factory<Integer> counter() {
+        return new org.apache.commons.collections15.Factory<Integer>() {
+            private int count;
+
+            @Override
+            public Integer create() {
+                return count++;
+            }
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package Algorithms.GraphGenerators;
+
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseGraph;
+import org.junit.Test;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of GridGraphGenerator.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class GridGraphGeneratorTest {
+
+    @Test
+    public void millionVerticesAreGeneratedInManyBlocks() throws InterruptedException {
+        GridGraphGenerator<Integer, Integer> generator = new GridGraphGenerator<Integer, Integer>(
+                graphFactory(), counter(), counter(), 1000000);
+
+        // count the blocks which the executor runs
+        final AtomicInteger tasks = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(4, 4, 0, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>()) {
+            @Override
+            public void execute(Runnable command) {
+                tasks.incrementAndGet();
+                super.execute(command);
+            }
+        };
+        EdgeList parallel;
+        try {
+            parallel = generator.createEdgeList(executor);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        EdgeList sequential = generator.createEdgeList(null);
+
+        assertTrue("blocks: " + tasks.get(), tasks.get() > 1);
+        assertEquals(2 * 1000 * 999, sequential.size());
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.source(i), parallel.source(i));
+            assertEquals(sequential.target(i), parallel.target(i));
+        }
+    }
+
+    @Test
+    public void edgesJoinNeighborsOfGrid() {
+        for (int n : new int[]{1, 4, 9, 25, 100, 10000}) {
+            GridGraphGenerator<Integer, Integer> generator = new GridGraphGenerator<Integer, Integer>(
+                    graphFactory(), counter(), counter(), n);
+            GridStructure structure = generator.getStructure();
+            EdgeList edges = generator.createEdgeList(null);
+            int column = structure.getColumn();
+
+            assertEquals(2 * column * (column - 1), edges.size());
+            for (int i = 0; i < edges.size(); i++) {
+                int s = edges.source(i);
+                int t = edges.target(i);
+                int distance = Math.abs(structure.row(s) - structure.row(t))
+                        + Math.abs(structure.column(s) - structure.column(t));
+                assertEquals(1, distance);
+            }
+        }
+    }
+
+    /**
+     * Return the factory of undirected graphs
+     */
+    static org.apache.commons.collections15.Factory<Graph<Integer, Integer>> graphFactory() {
+        return new org.apache.commons.collections15.Factory<Graph<Integer, Integer>>() {
+            @Override
+            public Graph<Integer, Integer> create() {
+                return new UndirectedSparseGraph<Integer, Integer>();
+            }
+        };
+    }
+
+    /**
+     * Return the factory of Integers numbered from 0
+     */
+    static org.apache.commons.collections15.Factory<Integer> counter() {
+        return new org.apache.commons.collections15.Factory<Integer>() {
+            private int count;
+
+            @Override
+            public Integer create() {
+                return count++;
+            }
+        };
+    }
+}
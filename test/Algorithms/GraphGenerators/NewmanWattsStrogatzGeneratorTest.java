@@ -0,0 +1,83 @@
+package Algorithms.GraphGenerators;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static Algorithms.GraphGenerators.GridGraphGeneratorTest.counter;
+import static Algorithms.GraphGenerators.GridGraphGeneratorTest.graphFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of NewmanWattsStrogatzGenerator.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class NewmanWattsStrogatzGeneratorTest {
+
+    @Test
+    public void sameSeedGivesSameEdgesWithAndWithoutExecutor() {
+        NewmanWattsStrogatzGenerator<Integer, Integer> generator = generator(20000, 4, 0.001);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        EdgeList parallel;
+        try {
+            parallel = generator.createEdgeList(executor);
+        } finally {
+            executor.shutdown();
+        }
+        EdgeList sequential = generator.createEdgeList(null);
+        EdgeList emitted = new EdgeList(sequential.size());
+        generator.emit(emitted);
+
+        assertEquals(sequential.size(), parallel.size());
+        assertEquals(sequential.size(), emitted.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.source(i), parallel.source(i));
+            assertEquals(sequential.target(i), parallel.target(i));
+            assertEquals(sequential.source(i), emitted.source(i));
+            assertEquals(sequential.target(i), emitted.target(i));
+        }
+    }
+
+    @Test
+    public void shortcutsJoinNewPairsWithProbabilityP() {
+        int n = 2000;
+        int k = 4;
+        double p = 0.01;
+        EdgeList edges = generator(n, k, p).createEdgeList(null);
+
+        // every edge joins a pair which has not been joined yet
+        Set<Long> pairs = new HashSet<Long>();
+        for (int i = 0; i < edges.size(); i++) {
+            int s = Math.min(edges.source(i), edges.target(i));
+            int t = Math.max(edges.source(i), edges.target(i));
+            assertTrue(s != t);
+            assertTrue("duplicate edge: " + s + " " + t, pairs.add((long) s * n + t));
+        }
+
+        // the number of shortcuts is within 5 standard deviations of the binomial distribution
+        long candidates = (long) n * (n - 1) / 2 - (long) n * k / 2;
+        double mean = candidates * p;
+        double deviation = Math.sqrt(candidates * p * (1 - p));
+        int shortcuts = edges.size() - n * k / 2;
+        assertTrue("shortcuts: " + shortcuts, Math.abs(shortcuts - mean) < 5 * deviation);
+    }
+
+    @Test
+    public void probabilityZeroAndOneGiveRingAndCompleteGraph() {
+        assertEquals(50 * 3, generator(50, 6, 0).createEdgeList(null).size());
+        assertEquals(50 * 49 / 2, generator(50, 6, 1).createEdgeList(null).size());
+    }
+
+    /**
+     * Return the generator with a fixed seed
+     */
+    private static NewmanWattsStrogatzGenerator<Integer, Integer> generator(int n, int k, double p) {
+        return new NewmanWattsStrogatzGenerator<Integer, Integer>(graphFactory(), counter(), counter(), n, k, p, 42);
+    }
+}
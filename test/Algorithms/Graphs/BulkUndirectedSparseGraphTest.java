@@ -0,0 +1,103 @@
+package Algorithms.Graphs;
+
+import Algorithms.GraphGenerators.EdgeList;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of BulkUndirectedSparseGraph, which must load the same graph as addVertex() and addEdge().
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class BulkUndirectedSparseGraphTest {
+
+    @Test
+    public void bulkLoadEqualsAddEdge() {
+        // parallel edges in both directions, a repeated edge id with the same endpoints, a self loop
+        // and an isolated vertex
+        int[][] pairs = {{0, 1}, {1, 2}, {1, 0}, {0, 1}, {1, 2}, {3, 3}, {3, 4}, {4, 2}};
+        int[] ids = {0, 1, 2, 3, 1, 4, 5, 6};
+        EdgeList edges = edgeList(pairs);
+        List<Integer> vertices = vertices(6);
+
+        Graph<Integer, Integer> expected = new UndirectedSparseGraph<Integer, Integer>();
+        edges.addTo(expected, vertices, ids(ids));
+        Graph<Integer, Integer> bulk = new BulkUndirectedSparseGraph<Integer, Integer>();
+        edges.addTo(bulk, vertices, ids(ids));
+
+        assertEquals(new HashSet<Integer>(expected.getVertices()), new HashSet<Integer>(bulk.getVertices()));
+        assertEquals(new HashSet<Integer>(expected.getEdges()), new HashSet<Integer>(bulk.getEdges()));
+        assertEquals(5, bulk.getEdgeCount());
+        for (Integer e : expected.getEdges()) {
+            assertEquals(expected.getEndpoints(e), bulk.getEndpoints(e));
+        }
+        for (Integer v : expected.getVertices()) {
+            assertEquals(new HashSet<Integer>(expected.getNeighbors(v)), new HashSet<Integer>(bulk.getNeighbors(v)));
+            assertEquals(expected.degree(v), bulk.degree(v));
+        }
+    }
+
+    @Test
+    public void repeatedEdgeWithOtherEndpointsIsRefused() {
+        int[][] pairs = {{0, 1}, {2, 1}};
+        int[] ids = {0, 0};
+        EdgeList edges = edgeList(pairs);
+
+        try {
+            edges.addTo(new UndirectedSparseGraph<Integer, Integer>(), vertices(3), ids(ids));
+            fail("addEdge() accepted a repeated edge");
+        } catch (IllegalArgumentException expected) {
+            // addEdge() refuses the edge
+        }
+        try {
+            edges.addTo(new BulkUndirectedSparseGraph<Integer, Integer>(), vertices(3), ids(ids));
+            fail("bulkLoad() accepted a repeated edge");
+        } catch (IllegalArgumentException expected) {
+            // bulkLoad() refuses the edge as addEdge()
+        }
+    }
+
+    /**
+     * Return the list of edges between the pairs of indices
+     */
+    static EdgeList edgeList(int[][] pairs) {
+        EdgeList edges = new EdgeList(pairs.length);
+        for (int[] pair : pairs) {
+            edges.add(pair[0], pair[1]);
+        }
+        return edges;
+    }
+
+    /**
+     * Return the vertices numbered from 0
+     */
+    static List<Integer> vertices(int n) {
+        List<Integer> vertices = new ArrayList<Integer>(n);
+        for (int i = 0; i < n; i++) {
+            vertices.add(i);
+        }
+        return vertices;
+    }
+
+    /**
+     * Return the factory which creates the given ids in order
+     */
+    static org.apache.commons.collections15.Factory<Integer> ids(final int[] ids) {
+        return new org.apache.commons.collections15.Factory<Integer>() {
+            private int count;
+
+            @Override
+            public Integer create() {
+                return ids[count++];
+            }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package Algorithms.Graphs;
+
+import Algorithms.GraphGenerators.EdgeList;
+import Algorithms.GraphGenerators.NewmanWattsStrogatzGenerator;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static Algorithms.Graphs.BulkUndirectedSparseGraphTest.vertices;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of MappedGraphWriter and MappedGraph, which must give the same arcs as CSRGraph.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class MappedGraphTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final NewmanWattsStrogatzGenerator<Integer, Integer> generator = new NewmanWattsStrogatzGenerator<Integer, Integer>(
+            graphFactory(), counter(), counter(), 1000, 6, 0.01, 42);
+
+    @Test
+    public void generatedEdgesRoundTrip() throws IOException {
+        Path path = folder.newFile("nws.csr").toPath();
+        new MappedGraphWriter(path).write(generator, true);
+
+        assertSameArcs(generator.createSnapshot(null), new MappedGraph(path));
+    }
+
+    @Test
+    public void directedEdgesRoundTrip() throws IOException {
+        Path path = folder.newFile("directed.csr").toPath();
+        new MappedGraphWriter(path).write(generator, false);
+
+        EdgeList edges = generator.createEdgeList(null);
+        int[] sources = new int[edges.size()];
+        int[] targets = new int[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            sources[i] = edges.source(i);
+            targets[i] = edges.target(i);
+        }
+        CSRGraph<Integer, Integer> expected = new CSRGraph<Integer, Integer>(
+                vertices(1000), vertices(edges.size()), sources, targets, false);
+        assertSameArcs(expected, new MappedGraph(path));
+    }
+
+    @Test
+    public void snapshotRoundTrips() throws IOException {
+        Path path = folder.newFile("snapshot.csr").toPath();
+        CSRGraph<Integer, Integer> snapshot = generator.createSnapshot(null);
+        new MappedGraphWriter(path).write(snapshot);
+
+        assertSameArcs(snapshot, new MappedGraph(path));
+    }
+
+    /**
+     * Assert that two graphs have the same vertices, edges and arcs in the same order
+     */
+    private static void assertSameArcs(IndexedGraph<Integer, Integer> expected, IndexedGraph<Integer, Integer> actual) {
+        assertEquals(expected.isUndirected(), actual.isUndirected());
+        assertEquals(expected.numVertices(), actual.numVertices());
+        assertEquals(expected.numEdges(), actual.numEdges());
+        assertEquals(expected.numArcs(), actual.numArcs());
+        for (int v = 0; v < expected.numVertices(); v++) {
+            assertEquals(expected.vertexAt(v), actual.vertexAt(v));
+            assertEquals(expected.begin(v), actual.begin(v));
+            assertEquals(expected.end(v), actual.end(v));
+            assertEquals(expected.degree(v), actual.degree(v));
+            assertEquals(expected.outDegree(v), actual.outDegree(v));
+        }
+        for (int arc = 0; arc < expected.numArcs(); arc++) {
+            assertEquals(expected.target(arc), actual.target(arc));
+            assertEquals(expected.edgeId(arc), actual.edgeId(arc));
+        }
+    }
+
+    /**
+     * Return the factory of undirected graphs
+     */
+    static org.apache.commons.collections15.Factory<Graph<Integer, Integer>> graphFactory() {
+        return new org.apache.commons.collections15.Factory<Graph<Integer, Integer>>() {
+            @Override
+            public Graph<Integer, Integer> create() {
+                return new UndirectedSparseGraph<Integer, Integer>();
+            }
+        };
+    }
+
+    /**
+     * Return the factory of Integers numbered from 0
+     */
+    static org.apache.commons.collections15.Factory<Integer> counter() {
+        return new org.apache.commons.collections15.Factory<Integer>() {
+            private int count;
+
+            @Override
+            public Integer create() {
+                return count++;
+            }
+        };
+    }
+}
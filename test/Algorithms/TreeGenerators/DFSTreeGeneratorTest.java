@@ -0,0 +1,63 @@
+package Algorithms.TreeGenerators;
+
+import Algorithms.GraphGenerators.NewmanWattsStrogatzGenerator;
+import Algorithms.Graphs.CSRGraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseGraph;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that order() and view() of DFSTreeGenerator describe the same traversal.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class DFSTreeGeneratorTest {
+
+    @Test
+    public void orderAndViewAgree() {
+        CSRGraph<Integer, Integer> snapshot = new NewmanWattsStrogatzGenerator<Integer, Integer>(
+                graphFactory(), counter(), counter(), 500, 4, 0.01, 42).createSnapshot(null);
+        DFSTreeGenerator<Integer, Integer> generator = new DFSTreeGenerator<Integer, Integer>(snapshot, graphFactory());
+
+        DFSOrder<Integer, Integer> order = generator.order();
+        TreeView<Integer, Integer> view = generator.view();
+
+        assertEquals(order.getPreorder(), view.getOrder());
+        for (int v = 0; v < snapshot.numVertices(); v++) {
+            assertEquals(order.parent(v), view.parent(v));
+            assertTrue(order.discovery(v) < order.finish(v));
+            if (view.parent(v) >= 0) {
+                assertEquals(view.depth(view.parent(v)) + 1, view.depth(v));
+            }
+        }
+    }
+
+    /**
+     * Return the factory of undirected graphs
+     */
+    static org.apache.commons.collections15.Factory<Graph<Integer, Integer>> graphFactory() {
+        return new org.apache.commons.collections15.Factory<Graph<Integer, Integer>>() {
+            @Override
+            public Graph<Integer, Integer> create() {
+                return new UndirectedSparseGraph<Integer, Integer>();
+            }
+        };
+    }
+
+    /**
+     * Return the factory of Integers numbered from 0
+     */
+    static org.apache.commons.collections15.Factory<Integer> counter() {
+        return new org.apache.commons.collections15.Factory<Integer>() {
+            private int count;
+
+            @Override
+            public Integer create() {
+                return count++;
+            }
+        };
+    }
+}
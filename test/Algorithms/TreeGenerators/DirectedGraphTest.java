@@ -0,0 +1,99 @@
+package Algorithms.TreeGenerators;
+
+import Algorithms.Graphs.CSRGraph;
+import edu.uci.ics.jung.graph.DirectedSparseGraph;
+import edu.uci.ics.jung.graph.Graph;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that tree generators walk a directed graph along its edges, both on the graph and on its snapshot.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class DirectedGraphTest {
+
+    private Graph<Integer, Integer> graph;
+    private org.apache.commons.collections15.Factory<Graph<Integer, Integer>> treeFactory;
+
+    @Before
+    public void setUp() {
+        // 0 -> 1 -> 3 -> 2 -> 0, and 4 -> 0, where 2 and 4 are reached only by following edges backwards from 0
+        graph = new DirectedSparseGraph<Integer, Integer>();
+        graph.addEdge(0, 0, 1);
+        graph.addEdge(1, 1, 3);
+        graph.addEdge(2, 3, 2);
+        graph.addEdge(3, 2, 0);
+        graph.addEdge(4, 4, 0);
+        treeFactory = new org.apache.commons.collections15.Factory<Graph<Integer, Integer>>() {
+            @Override
+            public Graph<Integer, Integer> create() {
+                return new DirectedSparseGraph<Integer, Integer>();
+            }
+        };
+    }
+
+    @Test
+    public void bfsFollowsSuccessorsOnGraphAndSnapshot() {
+        Graph<Integer, Integer> fromGraph = new BFSTreeGenerator<Integer, Integer>(graph, treeFactory, 0).create();
+        Graph<Integer, Integer> fromSnapshot = new BFSTreeGenerator<Integer, Integer>(
+                new CSRGraph<Integer, Integer>(graph), treeFactory, 0).create();
+
+        assertEquals(parents(fromGraph), parents(fromSnapshot));
+        assertEquals(4, fromGraph.getVertexCount());
+        assertEquals(Integer.valueOf(3), parents(fromGraph).get(2));
+    }
+
+    @Test
+    public void bfsViewMatchesGraphWalk() {
+        TreeView<Integer, Integer> view = new BFSTreeGenerator<Integer, Integer>(graph, treeFactory, 0).view();
+
+        assertEquals(3, view.getDepth(2));
+        assertEquals(-1, view.getDepth(4));
+        assertEquals(Integer.valueOf(3), view.getParent(2));
+    }
+
+    @Test
+    public void dfsFollowsSuccessorsOnGraphAndSnapshot() {
+        Graph<Integer, Integer> fromGraph = new DFSTreeGenerator<Integer, Integer>(graph, treeFactory, 0).create();
+        Graph<Integer, Integer> fromSnapshot = new DFSTreeGenerator<Integer, Integer>(
+                new CSRGraph<Integer, Integer>(graph), treeFactory, 0).create();
+
+        assertEquals(parents(fromGraph), parents(fromSnapshot));
+        assertEquals(4, fromGraph.getVertexCount());
+    }
+
+    @Test
+    public void forestsMatchOnGraphAndSnapshot() {
+        Graph<Integer, Integer> bfsGraph = new BFSTreeGenerator<Integer, Integer>(graph, treeFactory).create();
+        Graph<Integer, Integer> bfsSnapshot = new BFSTreeGenerator<Integer, Integer>(
+                new CSRGraph<Integer, Integer>(graph), treeFactory).create();
+        Graph<Integer, Integer> dfsGraph = new DFSTreeGenerator<Integer, Integer>(graph, treeFactory).create();
+        Graph<Integer, Integer> dfsSnapshot = new DFSTreeGenerator<Integer, Integer>(
+                new CSRGraph<Integer, Integer>(graph), treeFactory).create();
+
+        assertEquals(parents(bfsGraph), parents(bfsSnapshot));
+        assertEquals(parents(dfsGraph), parents(dfsSnapshot));
+        assertEquals(5, bfsGraph.getVertexCount());
+    }
+
+    /**
+     * Return the map which maps each vertex of the tree to its parent, or to null if it is a root
+     */
+    private static Map<Integer, Integer> parents(Graph<Integer, Integer> tree) {
+        Map<Integer, Integer> parents = new HashMap<Integer, Integer>();
+        for (Integer v: tree.getVertices()) {
+            Integer parent = null;
+            for (Integer u: tree.getPredecessors(v)) {
+                parent = u;
+            }
+            parents.put(v, parent);
+        }
+        return parents;
+    }
+}
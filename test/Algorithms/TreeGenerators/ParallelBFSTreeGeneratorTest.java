@@ -0,0 +1,52 @@
+package Algorithms.TreeGenerators;
+
+import Algorithms.GraphGenerators.GridGraphGenerator;
+import Algorithms.Graphs.CSRGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static Algorithms.TreeGenerators.DFSTreeGeneratorTest.counter;
+import static Algorithms.TreeGenerators.DFSTreeGeneratorTest.graphFactory;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of ParallelBFSTreeGenerator.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class ParallelBFSTreeGeneratorTest {
+
+    private final CSRGraph<Integer, Integer> snapshot = new GridGraphGenerator<Integer, Integer>(
+            graphFactory(), counter(), counter(), 100).createSnapshot(null);
+
+    @Test
+    public void depthsMatchSequentialBFS() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        TreeView<Integer, Integer> parallel;
+        try {
+            parallel = new ParallelBFSTreeGenerator<Integer, Integer>(snapshot, graphFactory(), 0, pool).view();
+        } finally {
+            pool.shutdown();
+        }
+        TreeView<Integer, Integer> sequential = new BFSTreeGenerator<Integer, Integer>(
+                snapshot, graphFactory(), 0).view();
+
+        assertEquals(sequential.size(), parallel.size());
+        for (int v = 0; v < snapshot.numVertices(); v++) {
+            assertEquals(sequential.depth(v), parallel.depth(v));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownRootIsRejected() {
+        new ParallelBFSTreeGenerator<Integer, Integer>(
+                snapshot, graphFactory(), Arrays.asList(0, -1), ForkJoinPool.commonPool()).view();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullPoolIsRejected() {
+        new ParallelBFSTreeGenerator<Integer, Integer>(snapshot, graphFactory(), 0, null);
+    }
+}
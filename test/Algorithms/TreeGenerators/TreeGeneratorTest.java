@@ -0,0 +1,46 @@
+package Algorithms.TreeGenerators;
+
+import edu.uci.ics.jung.graph.Graph;
+import org.junit.Test;
+
+import static Algorithms.TreeGenerators.DFSTreeGeneratorTest.graphFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the interfaces of tree generators.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class TreeGeneratorTest {
+
+    @Test
+    public void treeGeneratorNeedsOnlyCreate() {
+        // an implementation outside of this library implements create() only
+        TreeGenerator<Integer, Integer> generator = new TreeGenerator<Integer, Integer>() {
+            @Override
+            public Graph<Integer, Integer> create() {
+                Graph<Integer, Integer> tree = graphFactory().create();
+                tree.addVertex(0);
+                return tree;
+            }
+        };
+
+        assertEquals(1, generator.create().getVertexCount());
+    }
+
+    @Test
+    public void generatorsOfThisLibraryAreViewable() {
+        Graph<Integer, Integer> graph = graphFactory().create();
+        graph.addEdge(0, 0, 1);
+
+        TreeGenerator<Integer, Integer> bfs = new BFSTreeGenerator<Integer, Integer>(graph, graphFactory(), 0);
+        TreeGenerator<Integer, Integer> dfs = new DFSTreeGenerator<Integer, Integer>(graph, graphFactory(), 0);
+        TreeGenerator<Integer, Integer> parallel = new ParallelBFSTreeGenerator<Integer, Integer>(graph, graphFactory(), 0);
+
+        assertTrue(bfs instanceof ViewableTreeGenerator);
+        assertTrue(dfs instanceof ViewableTreeGenerator);
+        assertTrue(parallel instanceof ViewableTreeGenerator);
+        assertEquals(2, ((ViewableTreeGenerator<Integer, Integer>) bfs).view().size());
+    }
+}
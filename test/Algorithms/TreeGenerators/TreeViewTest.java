@@ -0,0 +1,52 @@
+package Algorithms.TreeGenerators;
+
+import edu.uci.ics.jung.graph.Graph;
+import org.junit.Test;
+
+import static Algorithms.TreeGenerators.DFSTreeGeneratorTest.graphFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+/**
+ * Tests of TreeView.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class TreeViewTest {
+
+    private final TreeView<Integer, Integer> view = new BFSTreeGenerator<Integer, Integer>(
+            path(), graphFactory(), 0).view();
+
+    @Test
+    public void editingGraphDoesNotChangeView() {
+        Graph<Integer, Integer> tree = view.toGraph();
+        tree.removeVertex(2);
+        tree.addVertex(10);
+
+        Graph<Integer, Integer> another = view.toGraph();
+        assertNotSame(tree, another);
+        assertEquals(3, another.getVertexCount());
+        assertEquals(2, another.getEdgeCount());
+        assertEquals(Integer.valueOf(1), view.getParent(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownVertexHasNoParent() {
+        view.getParent(10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownVertexHasNoDepth() {
+        view.getDepth(10);
+    }
+
+    /**
+     * Return the path 0 - 1 - 2
+     */
+    private static Graph<Integer, Integer> path() {
+        Graph<Integer, Integer> graph = graphFactory().create();
+        graph.addEdge(0, 0, 1);
+        graph.addEdge(1, 1, 2);
+        return graph;
+    }
+}
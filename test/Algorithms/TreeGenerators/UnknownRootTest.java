@@ -0,0 +1,46 @@
+package Algorithms.TreeGenerators;
+
+import Algorithms.GraphGenerators.LadderGraphGenerator;
+import Algorithms.Graphs.CSRGraph;
+import edu.uci.ics.jung.graph.Graph;
+import org.junit.Test;
+
+import static Algorithms.TreeGenerators.DFSTreeGeneratorTest.counter;
+import static Algorithms.TreeGenerators.DFSTreeGeneratorTest.graphFactory;
+
+/**
+ * Tests that tree generators reject a root which is not a vertex of a given graph.
+ *
+ * Created by mitsunobu on 15/09/05.
+ */
+public class UnknownRootTest {
+
+    private final Graph<Integer, Integer> graph = new LadderGraphGenerator<Integer, Integer>(
+            graphFactory(), counter(), counter(), 10).create();
+    private final CSRGraph<Integer, Integer> snapshot = new CSRGraph<Integer, Integer>(graph);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bfsOnGraph() {
+        new BFSTreeGenerator<Integer, Integer>(graph, graphFactory(), 100).create();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bfsPartitionOnGraph() {
+        new BFSTreeGenerator<Integer, Integer>(graph, graphFactory(), 100).partition();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bfsOnSnapshot() {
+        new BFSTreeGenerator<Integer, Integer>(snapshot, graphFactory(), 100).view();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void dfsOnGraph() {
+        new DFSTreeGenerator<Integer, Integer>(graph, graphFactory(), 100).create();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void dfsOnSnapshot() {
+        new DFSTreeGenerator<Integer, Integer>(snapshot, graphFactory(), 100).order();
+    }
+}